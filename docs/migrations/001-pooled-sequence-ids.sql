@@ -0,0 +1,17 @@
+-- Switches customers and customer_outbox from IDENTITY columns to pooled-lo sequences.
+-- Run against an existing PostgreSQL database BEFORE deploying the new version:
+-- with ddl-auto=update Hibernate would otherwise create the sequences starting at 1
+-- and the first inserts would collide with existing IDs.
+-- INCREMENT BY must match spring.jpa.properties.customer_management.id.allocation_size.
+
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS customers_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('customers_seq', COALESCE((SELECT MAX(id) FROM customers), 0) + 1, false);
+ALTER TABLE customers ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS customer_outbox_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('customer_outbox_seq', COALESCE((SELECT MAX(id) FROM customer_outbox), 0) + 1, false);
+ALTER TABLE customer_outbox ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+COMMIT;
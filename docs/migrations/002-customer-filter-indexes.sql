@@ -0,0 +1,11 @@
+-- Indexes backing the filters and sorts of GET /api/customers.
+-- ddl-auto=update creates the plain (column, id) indexes declared on the Customer entity,
+-- but not the expression index used by the case-insensitive lastNamePrefix filter.
+-- text_pattern_ops lets LIKE 'prefix%' use the index regardless of the database collation.
+-- CONCURRENTLY avoids blocking writes on a live table, so run each statement outside a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_customers_age_id ON customers (age, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_customers_birth_date_id ON customers (birth_date, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_customers_estimated_event_date_id ON customers (estimated_event_date, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_customers_last_name_id ON customers (last_name, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_customers_lower_last_name_id ON customers (lower(last_name) text_pattern_ops, id);
@@ -0,0 +1,5 @@
+-- Optimistic lock column of BaseModel, incremented by every customer update.
+-- ddl-auto=update cannot add a NOT NULL column to a table that already has rows,
+-- so existing customers start at version 0. Run before deploying the new version.
+
+ALTER TABLE customers ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,9 @@
+-- Duplicate fingerprint of each customer: SHA-256 of the normalized first and last names
+-- plus the birth date (see CustomerFingerprint). Existing customers start without one and
+-- are backfilled by CustomerFingerprintIndex when the application starts; rows that duplicate
+-- an earlier customer keep a null fingerprint, which the unique index ignores.
+-- Run before deploying the new version.
+
+ALTER TABLE customers ADD COLUMN IF NOT EXISTS fingerprint varchar(64);
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_customers_fingerprint ON customers (fingerprint);
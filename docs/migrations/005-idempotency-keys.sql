@@ -0,0 +1,19 @@
+-- Idempotency keys shared by all instances, used when customer.idempotency.store=database
+-- (see DatabaseIdempotencyStore). A row without a status is a request still in flight; the
+-- primary key makes concurrent requests with the same key wait for it. Expired rows are
+-- purged by the application every customer.idempotency.cleanup-interval-ms.
+-- Run before switching the store to database.
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key varchar(64) PRIMARY KEY,
+    request_hash varchar(64) NOT NULL,
+    status integer,
+    content_type varchar(255),
+    etag varchar(64),
+    last_modified varchar(64),
+    body bytea,
+    created_at timestamp(6) NOT NULL,
+    expires_at timestamp(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
@@ -0,0 +1,39 @@
+package customer_management_service.benchmark;
+
+import customer_management_service.CustomerManagementServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the whole application for the benchmarks that go through the service layer or HTTP,
+ * with the {@code test} profile (in-memory H2, relay and cache sync off), a random port and
+ * request and SQL logging turned down.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * @param properties additional {@code name=value} properties
+     * @return the running application, closed by the benchmark's trial tear-down
+     */
+    static ConfigurableApplicationContext start(String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+            "--spring.profiles.active=test",
+            "--server.port=0",
+            "--logging.level.customer_management_service=WARN",
+            "--logging.level.org.springframework.web=WARN",
+            "--logging.level.org.hibernate.SQL=WARN",
+            "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(CustomerManagementServiceApplication.class)
+            .run(args.toArray(String[]::new));
+    }
+}
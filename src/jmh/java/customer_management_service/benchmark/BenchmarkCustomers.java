@@ -0,0 +1,45 @@
+package customer_management_service.benchmark;
+
+import customer_management_service.dto.CustomerCreateDTO;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Valid, distinct customers for the benchmarks: exact duplicates are rejected on create, so
+ * every customer gets its own last name, spelled in letters to pass the name validation.
+ */
+final class BenchmarkCustomers {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private BenchmarkCustomers() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * @return a 30 year old customer not created before in this JVM
+     */
+    static CustomerCreateDTO next() {
+        return new CustomerCreateDTO("Juan", lastName(SEQUENCE.incrementAndGet()), 30,
+            LocalDate.now(ZoneOffset.UTC).minusYears(30).minusDays(1));
+    }
+
+    /**
+     * @return {@link #next()} as a JSON request body
+     */
+    static String nextJson() {
+        CustomerCreateDTO customer = next();
+        return String.format("{\"firstName\":\"%s\",\"lastName\":\"%s\",\"age\":%d,\"birthDate\":\"%s\"}",
+            customer.getFirstName(), customer.getLastName(), customer.getAge(), customer.getBirthDate());
+    }
+
+    private static String lastName(long sequence) {
+        StringBuilder name = new StringBuilder("Perez");
+        for (long n = sequence; n > 0; n /= 26) {
+            name.append((char) ('a' + n % 26));
+        }
+        return name.toString();
+    }
+}
@@ -0,0 +1,89 @@
+package customer_management_service.benchmark;
+
+import customer_management_service.event.CustomerCreatedMessage;
+import customer_management_service.event.CustomerSnapshot;
+import customer_management_service.event.CustomerUpdatedMessage;
+import customer_management_service.model.Customer;
+import customer_management_service.service.CustomerEventCodec;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessagePropertiesBuilder;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publish throughput of the customer event messages with each {@link CustomerEventCodec.Encoding},
+ * up to the broker: encoding the message and wrapping it in the AMQP message the outbox relay
+ * sends. The score is messages per second; the {@code bytes} secondary result is the payload
+ * bytes per second, so bytes per event is {@code bytes} divided by the score.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomerEventEncodingBenchmark {
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    private CustomerEventCodec.Encoding encoding;
+
+    private CustomerEventCodec codec;
+    private CustomerCreatedMessage created;
+    private CustomerUpdatedMessage updated;
+
+    /**
+     * Payload bytes published by one thread, reported per second.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Payload {
+
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        codec = new CustomerEventCodec(encoding.getContentType());
+
+        LocalDate birthDate = LocalDate.now().minusYears(30).minusDays(10);
+        Customer customer = new Customer();
+        customer.setId(1L);
+        customer.setFirstName("Juan");
+        customer.setLastName("Pérez");
+        customer.setAge(30);
+        customer.setBirthDate(birthDate);
+        customer.setEstimatedEventDate(birthDate.plusYears(65));
+        created = CustomerCreatedMessage.of(customer);
+
+        CustomerSnapshot before = CustomerSnapshot.of(customer);
+        customer.setLastName("Gómez");
+        updated = CustomerUpdatedMessage.of(before, CustomerSnapshot.of(customer));
+    }
+
+    @Benchmark
+    public Message publishCreated(Payload payload) {
+        return publish(created, payload);
+    }
+
+    @Benchmark
+    public Message publishUpdated(Payload payload) {
+        return publish(updated, payload);
+    }
+
+    private Message publish(Object message, Payload payload) {
+        byte[] body = codec.encode(message);
+        payload.bytes += body.length;
+        return new Message(body, MessagePropertiesBuilder.newInstance()
+            .setContentType(codec.getContentType())
+            .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+            .build());
+    }
+}
@@ -0,0 +1,54 @@
+package customer_management_service.benchmark;
+
+import customer_management_service.dto.CustomerCreateDTO;
+import customer_management_service.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput, in rows per second, of the single and bulk customer write paths
+ * through {@link CustomerService}, on the application started by {@link BenchmarkApplication}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomerInsertThroughputBenchmark {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private ConfigurableApplicationContext application;
+    private CustomerService customerService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = BenchmarkApplication.start();
+        customerService = application.getBean(CustomerService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public Object singleInsert() {
+        return customerService.createCustomer(BenchmarkCustomers.next());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK_SIZE)
+    public Object bulkInsert() {
+        List<CustomerCreateDTO> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (int i = 0; i < CHUNK_SIZE; i++) {
+            chunk.add(BenchmarkCustomers.next());
+        }
+        return customerService.createCustomers(chunk);
+    }
+}
@@ -0,0 +1,60 @@
+package customer_management_service.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import customer_management_service.dto.CustomerDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization of {@link CustomerDTO}, using an {@link ObjectMapper}
+ * configured the same way Spring MVC configures its message converter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomerJsonBenchmark {
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private CustomerDTO customer;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(CustomerDTO.class);
+        reader = objectMapper.readerFor(CustomerDTO.class);
+
+        LocalDate birthDate = LocalDate.now().minusYears(30).minusDays(10);
+        customer = new CustomerDTO();
+        customer.setId(1L);
+        customer.setFirstName("Juan");
+        customer.setLastName("Pérez");
+        customer.setAge(30);
+        customer.setBirthDate(birthDate);
+        customer.setEstimatedEventDate(birthDate.plusYears(65));
+        customer.setCreationDate(LocalDateTime.now());
+        customer.setUpdateDate(LocalDateTime.now());
+        json = writer.writeValueAsBytes(customer);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(customer);
+    }
+
+    @Benchmark
+    public CustomerDTO deserialize() throws IOException {
+        return reader.readValue(json);
+    }
+}
@@ -0,0 +1,67 @@
+package customer_management_service.benchmark;
+
+import customer_management_service.dto.CustomerCreateDTO;
+import customer_management_service.dto.CustomerDTO;
+import customer_management_service.dto.CustomerUpdateDTO;
+import customer_management_service.mapper.CustomerMapper;
+import customer_management_service.model.Customer;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the {@link CustomerMapper} conversions used on every request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CustomerMapperBenchmark {
+
+    private final CustomerMapper mapper = new CustomerMapper();
+
+    private Customer customer;
+    private CustomerCreateDTO createDTO;
+    private CustomerUpdateDTO updateDTO;
+
+    @Setup
+    public void setUp() {
+        LocalDate birthDate = LocalDate.now().minusYears(30).minusDays(10);
+
+        customer = new Customer();
+        customer.setId(1L);
+        customer.setFirstName("Juan");
+        customer.setLastName("Pérez");
+        customer.setAge(30);
+        customer.setBirthDate(birthDate);
+        customer.setEstimatedEventDate(birthDate.plusYears(65));
+        customer.setCreationDate(LocalDateTime.now());
+        customer.setUpdateDate(LocalDateTime.now());
+
+        createDTO = new CustomerCreateDTO("  Juan ", "Pérez  ", 30, birthDate);
+
+        updateDTO = new CustomerUpdateDTO();
+        updateDTO.setFirstName(" María ");
+        updateDTO.setAge(31);
+    }
+
+    @Benchmark
+    public CustomerDTO toDTO() {
+        return mapper.toDTO(customer);
+    }
+
+    @Benchmark
+    public Customer toEntity() {
+        return mapper.toEntity(createDTO);
+    }
+
+    @Benchmark
+    public Customer updateEntityFromDTO() {
+        mapper.updateEntityFromDTO(customer, updateDTO);
+        return customer;
+    }
+}
@@ -0,0 +1,102 @@
+package customer_management_service.benchmark;
+
+import customer_management_service.dto.CustomerCreateDTO;
+import customer_management_service.dto.CustomerDTO;
+import customer_management_service.mapper.CustomerMapper;
+import customer_management_service.model.Customer;
+import customer_management_service.repository.CustomerRepository;
+import customer_management_service.service.CustomerService;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the customer read paths: managed entities copied by {@link CustomerMapper}
+ * (the former path) against rows selected straight into {@link CustomerDTO}. Each operation
+ * runs in its own read-only transaction, as a request does, and bypasses the customer cache.
+ * Run with {@code -prof gc} for the bytes allocated per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomerReadPathBenchmark {
+
+    private static final int SEEDED_CUSTOMERS = 5_000;
+    private static final int CHUNK_SIZE = 500;
+    private static final int PAGE_SIZE = 50;
+
+    private ConfigurableApplicationContext application;
+    private CustomerRepository customerRepository;
+    private CustomerMapper customerMapper;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = BenchmarkApplication.start();
+        customerRepository = application.getBean(CustomerRepository.class);
+        customerMapper = application.getBean(CustomerMapper.class);
+        entityManager = application.getBean(EntityManager.class);
+        readOnly = new TransactionTemplate(application.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        CustomerService customerService = application.getBean(CustomerService.class);
+        ids = new ArrayList<>(SEEDED_CUSTOMERS);
+        List<CustomerCreateDTO> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (int i = 0; i < SEEDED_CUSTOMERS; i++) {
+            chunk.add(BenchmarkCustomers.next());
+            if (chunk.size() == CHUNK_SIZE) {
+                customerService.createCustomers(chunk).forEach(created -> ids.add(created.getId()));
+                chunk.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public CustomerDTO byIdEntity() {
+        return readOnly.execute(status ->
+            customerRepository.findById(randomId()).map(customerMapper::toDTO).orElseThrow());
+    }
+
+    @Benchmark
+    public CustomerDTO byIdProjection() {
+        return readOnly.execute(status -> customerRepository.findDTOById(randomId()).orElseThrow());
+    }
+
+    @Benchmark
+    public List<CustomerDTO> pageEntity() {
+        return readOnly.execute(status -> entityManager
+            .createQuery("SELECT c FROM Customer c ORDER BY c.creationDate DESC, c.id DESC", Customer.class)
+            .setMaxResults(PAGE_SIZE)
+            .getResultList()
+            .stream()
+            .map(customerMapper::toDTO)
+            .toList());
+    }
+
+    @Benchmark
+    public List<CustomerDTO> pageProjection() {
+        return readOnly.execute(status -> customerRepository.findFirstPage(Limit.of(PAGE_SIZE)));
+    }
+
+    private Long randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,100 @@
+package customer_management_service.benchmark;
+
+import customer_management_service.dto.CustomerCreateDTO;
+import customer_management_service.dto.CustomerDTO;
+import customer_management_service.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop load of {@code GET /api/customers/{id}} and {@code POST /api/customers} over real
+ * HTTP, one client per benchmark thread, sampled for the latency percentiles. Used to compare
+ * platform and virtual threads: {@code -p virtualThreads=false,true} runs both modes (virtual
+ * threads need a Java 21+ JDK), and {@code -t} overrides the number of clients.
+ * A request answered with an error status fails the benchmark.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(400)
+@State(Scope.Benchmark)
+public class CustomerRequestLatencyBenchmark {
+
+    private static final int SEEDED_CUSTOMERS = 1_000;
+
+    @Param({"false"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext application;
+    private ExecutorService clientExecutor;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = BenchmarkApplication.start(
+            "spring.threads.virtual.enabled=" + virtualThreads,
+            "spring.datasource.hikari.maximum-pool-size=20",
+            "spring.datasource.hikari.connection-timeout=2000");
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) application).getWebServer().getPort();
+        clientExecutor = Executors.newFixedThreadPool(8);
+        httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(clientExecutor)
+            .build();
+
+        CustomerService customerService = application.getBean(CustomerService.class);
+        List<CustomerCreateDTO> customers = new ArrayList<>(SEEDED_CUSTOMERS);
+        for (int i = 0; i < SEEDED_CUSTOMERS; i++) {
+            customers.add(BenchmarkCustomers.next());
+        }
+        ids = customerService.createCustomers(customers).stream().map(CustomerDTO::getId).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clientExecutor.shutdownNow();
+        application.close();
+    }
+
+    @Benchmark
+    public int getCustomer() throws IOException, InterruptedException {
+        Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/customers/" + id))
+            .GET()
+            .build());
+    }
+
+    @Benchmark
+    public int createCustomer() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/customers"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(BenchmarkCustomers.nextJson()))
+            .build());
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status >= 400) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " answered " + status);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,107 @@
+package customer_management_service.benchmark;
+
+import customer_management_service.dto.CustomerCreateDTO;
+import customer_management_service.dto.CustomerDTO;
+import customer_management_service.dto.CustomerUpdateDTO;
+import customer_management_service.exception.DataConflictException;
+import customer_management_service.exception.PreconditionFailedException;
+import customer_management_service.repository.CustomerRepository;
+import customer_management_service.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput of concurrent read-modify-write cycles (GET, then PATCH with If-Match) against a
+ * single hot customer and spread over many customers. Each operation is one attempt; the
+ * committed, 412 and 409 outcomes are reported as secondary rates, and {@code -t} overrides
+ * the number of threads. The trial fails if an update was lost: the versions gained by the
+ * customers must equal the committed updates.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class CustomerUpdateContentionBenchmark {
+
+    @Param({"1", "64"})
+    private int customers;
+
+    private final LongAdder committedUpdates = new LongAdder();
+    private ConfigurableApplicationContext application;
+    private CustomerService customerService;
+    private CustomerRepository customerRepository;
+    private List<Long> ids;
+
+    /**
+     * Outcomes of the attempts of one thread, reported per second.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+
+        public long committed;
+        public long preconditionFailed;
+        public long conflicts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            committed = 0;
+            preconditionFailed = 0;
+            conflicts = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = BenchmarkApplication.start();
+        customerService = application.getBean(CustomerService.class);
+        customerRepository = application.getBean(CustomerRepository.class);
+        List<CustomerCreateDTO> created = new ArrayList<>(customers);
+        for (int i = 0; i < customers; i++) {
+            created.add(BenchmarkCustomers.next());
+        }
+        ids = customerService.createCustomers(created).stream().map(CustomerDTO::getId).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        try {
+            long versionsGained = ids.stream()
+                .mapToLong(id -> customerRepository.findRevisionById(id).orElseThrow().getVersion())
+                .sum();
+            if (versionsGained != committedUpdates.sum()) {
+                throw new IllegalStateException(String.format("Lost updates: %d committed, %d versions gained",
+                    committedUpdates.sum(), versionsGained));
+            }
+        } finally {
+            application.close();
+        }
+    }
+
+    @Benchmark
+    public void readModifyWrite(Outcomes outcomes) {
+        Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        CustomerDTO current = customerService.getCustomerById(id);
+        CustomerUpdateDTO update = new CustomerUpdateDTO();
+        update.setLastName(BenchmarkCustomers.next().getLastName());
+        try {
+            customerService.updateCustomer(id, update, Set.of(current.getVersion()));
+            committedUpdates.increment();
+            outcomes.committed++;
+        } catch (PreconditionFailedException e) {
+            outcomes.preconditionFailed++;
+        } catch (DataConflictException e) {
+            outcomes.conflicts++;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package customer_management_service.benchmark;
+
+import customer_management_service.dto.CustomerCreateDTO;
+import customer_management_service.validation.AgeMatchesBirthDateValidator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the cross-field age check on its own and of the full Bean Validation pass
+ * on {@link CustomerCreateDTO}, which includes the {@code NAME_PATTERN} regex on both names.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomerValidationBenchmark {
+
+    private final AgeMatchesBirthDateValidator ageValidator = new AgeMatchesBirthDateValidator();
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private CustomerCreateDTO validCustomer;
+    private CustomerCreateDTO invalidCustomer;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        LocalDate birthDate = LocalDate.now().minusYears(30).minusDays(10);
+        validCustomer = new CustomerCreateDTO("José María", "Núñez Pérez", 30, birthDate);
+        invalidCustomer = new CustomerCreateDTO("J0hn", "D", 45, birthDate);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public boolean ageMatchesBirthDate() {
+        return ageValidator.isValid(validCustomer, null);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CustomerCreateDTO>> beanValidationValid() {
+        return validator.validate(validCustomer);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CustomerCreateDTO>> beanValidationInvalid() {
+        return validator.validate(invalidCustomer);
+    }
+}
@@ -0,0 +1,16 @@
+package customer_management_service.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables Spring caching. The cache manager itself is auto-configured from the
+ * {@code spring.cache} properties (Caffeine, size and TTL bounded, with statistics
+ * so that hit/miss/eviction metrics are published to the actuator).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CUSTOMERS_CACHE = "customers";
+}
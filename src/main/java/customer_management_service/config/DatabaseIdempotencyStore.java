@@ -0,0 +1,131 @@
+package customer_management_service.config;
+
+import customer_management_service.exception.DataConflictException;
+import customer_management_service.exception.InvalidDataException;
+import customer_management_service.model.IdempotencyRecord;
+import customer_management_service.repository.IdempotencyRecordRepository;
+import customer_management_service.validation.ValidationConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+/**
+ * {@link IdempotencyStore} shared by all instances through the {@code idempotency_keys} table.
+ * A request acquires its key by inserting the row; requests with the same key, on any
+ * instance, poll the row until its response is stored. A row left without a response for
+ * longer than the lock timeout belongs to an instance that stopped mid-request and is taken
+ * over.
+ */
+@Slf4j
+public class DatabaseIdempotencyStore implements IdempotencyStore {
+
+    private final IdempotencyRecordRepository repository;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final Duration lockTimeout;
+    private final Duration pollInterval;
+
+    /**
+     * @param repository idempotency key rows
+     * @param ttl time a response is replayed for
+     * @param waitTimeout time a request waits for the one in flight with the same key
+     * @param lockTimeout time after which a key without a response is considered abandoned
+     * @param pollInterval pause between reads of a key in flight
+     */
+    public DatabaseIdempotencyStore(IdempotencyRecordRepository repository, Duration ttl, Duration waitTimeout,
+                                    Duration lockTimeout, Duration pollInterval) {
+        this.repository = repository;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.lockTimeout = lockTimeout;
+        this.pollInterval = pollInterval;
+    }
+
+    @Override
+    public Optional<IdempotentResponse> acquire(String key, String requestHash) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (true) {
+            LocalDateTime now = now();
+            if (insertPending(key, requestHash, now)) {
+                return Optional.empty();
+            }
+            Optional<IdempotencyRecord> current = repository.findCurrent(key);
+            if (current.isEmpty()) {
+                // Released or purged since the insert failed
+                continue;
+            }
+            IdempotencyRecord record = current.get();
+            if (record.getExpiresAt().isBefore(now)
+                    || (record.getStatus() == null && record.getCreatedAt().isBefore(now.minus(lockTimeout)))) {
+                repository.deleteStale(key, now, now.minus(lockTimeout));
+                continue;
+            }
+            if (!record.getRequestHash().equals(requestHash)) {
+                throw new InvalidDataException(ValidationConstants.IDEMPOTENCY_KEY_REUSED);
+            }
+            if (record.getStatus() != null) {
+                return Optional.of(toResponse(record));
+            }
+            if (System.nanoTime() >= deadline) {
+                throw new DataConflictException(ValidationConstants.IDEMPOTENCY_KEY_IN_PROGRESS);
+            }
+            pause();
+        }
+    }
+
+    @Override
+    public void complete(String key, IdempotentResponse response) {
+        int updated = repository.complete(key, response.status(), response.contentType(), response.eTag(),
+            response.lastModified(), response.body(), now().plus(ttl));
+        if (updated == 0) {
+            log.warn("Idempotency key was taken over before its response was stored");
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        repository.deletePending(key);
+    }
+
+    /**
+     * Removes the keys whose responses are no longer replayed.
+     */
+    @Scheduled(fixedDelayString = "${customer.idempotency.cleanup-interval-ms:600000}")
+    public void purgeExpired() {
+        int deleted = repository.deleteExpired(now());
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    private boolean insertPending(String key, String requestHash, LocalDateTime now) {
+        try {
+            return repository.insertPending(key, requestHash, now, now.plus(ttl)) > 0;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(pollInterval.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataConflictException(ValidationConstants.IDEMPOTENCY_KEY_IN_PROGRESS, e);
+        }
+    }
+
+    private static IdempotentResponse toResponse(IdempotencyRecord record) {
+        return new IdempotentResponse(record.getRequestHash(), record.getStatus(), record.getContentType(),
+            record.getEntityTag(), record.getLastModified(), record.getBody() != null ? record.getBody() : new byte[0]);
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now(ZoneOffset.UTC);
+    }
+}
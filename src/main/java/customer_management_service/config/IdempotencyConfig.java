@@ -0,0 +1,60 @@
+package customer_management_service.config;
+
+import customer_management_service.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.time.Duration;
+
+/**
+ * {@code Idempotency-Key} handling for customer writes, enabled unless
+ * {@code customer.idempotency.enabled} is false. Responses are kept in memory by default;
+ * {@code customer.idempotency.store=database} shares them between instances.
+ */
+@Configuration
+@ConditionalOnProperty(name = "customer.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "customer.idempotency.store", havingValue = "memory", matchIfMissing = true)
+    public IdempotencyStore inMemoryIdempotencyStore(
+            @Value("${customer.idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${customer.idempotency.max-entries:100000}") long maxEntries,
+            @Value("${customer.idempotency.wait-timeout-ms:10000}") long waitTimeoutMs) {
+        return new InMemoryIdempotencyStore(Duration.ofHours(ttlHours), maxEntries, Duration.ofMillis(waitTimeoutMs));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "customer.idempotency.store", havingValue = "database")
+    public IdempotencyStore databaseIdempotencyStore(
+            IdempotencyRecordRepository repository,
+            @Value("${customer.idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${customer.idempotency.wait-timeout-ms:10000}") long waitTimeoutMs,
+            @Value("${customer.idempotency.lock-timeout-ms:60000}") long lockTimeoutMs,
+            @Value("${customer.idempotency.poll-interval-ms:50}") long pollIntervalMs) {
+        return new DatabaseIdempotencyStore(repository, Duration.ofHours(ttlHours), Duration.ofMillis(waitTimeoutMs),
+            Duration.ofMillis(lockTimeoutMs), Duration.ofMillis(pollIntervalMs));
+    }
+
+    /**
+     * Registers the filter after Spring Security, so that keys are scoped to the authenticated caller.
+     */
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            IdempotencyStore idempotencyStore,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<IdempotencyFilter> registration =
+            new FilterRegistrationBean<>(new IdempotencyFilter(idempotencyStore, exceptionResolver, meterRegistry));
+        registration.addUrlPatterns("/api/customers", "/api/customers/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,248 @@
+package customer_management_service.config;
+
+import customer_management_service.exception.DataConflictException;
+import customer_management_service.exception.InvalidDataException;
+import customer_management_service.validation.ValidationConstants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Executes {@code POST /api/customers} and {@code PATCH /api/customers/{id}} at most once per
+ * {@code Idempotency-Key} header. The response of the first execution is stored and replayed,
+ * with an {@code Idempotent-Replayed} header, to every retry with the same key, method, path,
+ * {@code If-Match} and body, without reaching the controller; retries arriving while the first
+ * execution is in flight wait for its response. Server errors are not stored, so the retry of
+ * a request that failed executes again. Requests without the header are not affected.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Pattern IDEMPOTENT_PATH = Pattern.compile("/api/customers(/\\d+)?");
+    private static final byte SEPARATOR = '\n';
+
+    private final IdempotencyStore idempotencyStore;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param idempotencyStore stored responses
+     * @param exceptionResolver writes rejected requests through the {@code GlobalExceptionHandler}
+     * @param meterRegistry registry for the request counters
+     */
+    public IdempotencyFilter(IdempotencyStore idempotencyStore, HandlerExceptionResolver exceptionResolver,
+                             MeterRegistry meterRegistry) {
+        this.idempotencyStore = idempotencyStore;
+        this.exceptionResolver = exceptionResolver;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+            || !(HttpMethod.POST.matches(method) || HttpMethod.PATCH.matches(method))
+            || !IDEMPOTENT_PATH.matcher(path).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > ValidationConstants.MAX_IDEMPOTENCY_KEY_LENGTH) {
+            reject(request, response, new InvalidDataException(ValidationConstants.IDEMPOTENCY_KEY_LENGTH), "invalid");
+            return;
+        }
+        byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+        String key = scopedKey(request, idempotencyKey);
+        String requestHash = requestHash(request, body);
+
+        Optional<IdempotentResponse> stored;
+        try {
+            stored = idempotencyStore.acquire(key, requestHash);
+        } catch (InvalidDataException e) {
+            reject(request, response, e, "mismatch");
+            return;
+        } catch (DataConflictException e) {
+            reject(request, response, e, "in_progress");
+            return;
+        }
+        if (stored.isPresent()) {
+            count("replayed");
+            replay(stored.get(), response);
+            return;
+        }
+
+        ContentCachingResponseWrapper captured = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            chain.doFilter(new CachedBodyRequest(request, body), captured);
+            if (captured.getStatus() < HttpServletResponse.SC_INTERNAL_SERVER_ERROR) {
+                idempotencyStore.complete(key, new IdempotentResponse(requestHash, captured.getStatus(),
+                    captured.getContentType(), captured.getHeader(HttpHeaders.ETAG),
+                    captured.getHeader(HttpHeaders.LAST_MODIFIED), captured.getContentAsByteArray()));
+                completed = true;
+                count("executed");
+            }
+        } finally {
+            if (!completed) {
+                idempotencyStore.release(key);
+                count("released");
+            }
+            captured.copyBodyToResponse();
+        }
+    }
+
+    private void replay(IdempotentResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.eTag() != null) {
+            response.setHeader(HttpHeaders.ETAG, stored.eTag());
+        }
+        if (stored.lastModified() != null) {
+            response.setHeader(HttpHeaders.LAST_MODIFIED, stored.lastModified());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, RuntimeException e, String result) {
+        count(result);
+        exceptionResolver.resolveException(request, response, null, e);
+    }
+
+    private void count(String result) {
+        Counter.builder("customer.idempotency.requests")
+            .description("Requests carrying an Idempotency-Key, by what happened to them")
+            .tag("result", result)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    /**
+     * Keys are scoped to the authenticated caller, so that two callers choosing the same key
+     * never see each other's responses.
+     */
+    private static String scopedKey(HttpServletRequest request, String idempotencyKey) {
+        Principal principal = request.getUserPrincipal();
+        MessageDigest digest = sha256();
+        digest.update((principal != null ? principal.getName() : "").getBytes(StandardCharsets.UTF_8));
+        digest.update(SEPARATOR);
+        digest.update(idempotencyKey.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String requestHash(HttpServletRequest request, byte[] body) {
+        String ifMatch = request.getHeader(HttpHeaders.IF_MATCH);
+        MessageDigest digest = sha256();
+        digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+        digest.update(SEPARATOR);
+        digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+        digest.update(SEPARATOR);
+        digest.update((ifMatch != null ? ifMatch : "").getBytes(StandardCharsets.UTF_8));
+        digest.update(SEPARATOR);
+        digest.update(body);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Request whose body was already read to hash it, served again to the controller.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // The whole body is in memory, so it is available at once and never blocks
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
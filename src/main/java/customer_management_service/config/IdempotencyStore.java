@@ -0,0 +1,41 @@
+package customer_management_service.config;
+
+import customer_management_service.exception.DataConflictException;
+import customer_management_service.exception.InvalidDataException;
+
+import java.util.Optional;
+
+/**
+ * Responses stored by idempotency key. A key is first acquired by the request that executes,
+ * then either completed with its response or released when the request failed, so that
+ * requests with the same key wait for the one in flight instead of executing again.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Returns the stored response of the key, waiting for the request holding it if it is
+     * still in flight, or acquires the key when nothing is stored yet.
+     *
+     * @param key scoped idempotency key
+     * @param requestHash SHA-256 of the request
+     * @return the response to replay, or empty when the caller acquired the key and must execute
+     * @throws InvalidDataException if the key was used for a request with another hash
+     * @throws DataConflictException if the request holding the key did not finish in time
+     */
+    Optional<IdempotentResponse> acquire(String key, String requestHash);
+
+    /**
+     * Stores the response of an acquired key and hands it to the requests waiting for it.
+     *
+     * @param key scoped idempotency key
+     * @param response response to replay
+     */
+    void complete(String key, IdempotentResponse response);
+
+    /**
+     * Gives up an acquired key without storing a response, so that a retry executes again.
+     *
+     * @param key scoped idempotency key
+     */
+    void release(String key);
+}
@@ -0,0 +1,21 @@
+package customer_management_service.config;
+
+/**
+ * Response of the first execution of an idempotent request, replayed to its retries.
+ *
+ * @param requestHash SHA-256 of the request it answered, to reject a key reused for another request
+ * @param status HTTP status
+ * @param contentType {@code Content-Type} header, or {@code null}
+ * @param eTag {@code ETag} header, or {@code null}
+ * @param lastModified {@code Last-Modified} header, or {@code null}
+ * @param body response body
+ */
+public record IdempotentResponse(
+    String requestHash,
+    int status,
+    String contentType,
+    String eTag,
+    String lastModified,
+    byte[] body
+) {
+}
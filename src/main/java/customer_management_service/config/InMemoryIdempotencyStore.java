@@ -0,0 +1,120 @@
+package customer_management_service.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import customer_management_service.exception.DataConflictException;
+import customer_management_service.exception.InvalidDataException;
+import customer_management_service.validation.ValidationConstants;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@link IdempotencyStore} of a single instance: responses live in a Caffeine cache bounded by
+ * size and evicted after the TTL, and requests in flight are tracked with futures that the
+ * requests with the same key wait on.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, IdempotentResponse> responses;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Duration waitTimeout;
+
+    /**
+     * @param ttl time a response is replayed for
+     * @param maxEntries maximum number of stored responses
+     * @param waitTimeout time a request waits for the one in flight with the same key
+     */
+    public InMemoryIdempotencyStore(Duration ttl, long maxEntries, Duration waitTimeout) {
+        this.responses = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterWrite(ttl)
+            .build();
+        this.waitTimeout = waitTimeout;
+    }
+
+    @Override
+    public Optional<IdempotentResponse> acquire(String key, String requestHash) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (true) {
+            IdempotentResponse stored = responses.getIfPresent(key);
+            if (stored != null) {
+                return Optional.of(matching(stored, requestHash));
+            }
+            InFlight mine = new InFlight(requestHash, new CompletableFuture<>());
+            InFlight current = inFlight.putIfAbsent(key, mine);
+            if (current == null) {
+                // The previous holder may have completed between the lookup and the claim
+                stored = responses.getIfPresent(key);
+                if (stored == null) {
+                    return Optional.empty();
+                }
+                inFlight.remove(key, mine);
+                mine.response().complete(stored);
+                return Optional.of(matching(stored, requestHash));
+            }
+            if (!current.requestHash().equals(requestHash)) {
+                throw new InvalidDataException(ValidationConstants.IDEMPOTENCY_KEY_REUSED);
+            }
+            IdempotentResponse completed = await(current, deadline);
+            if (completed != null) {
+                return Optional.of(completed);
+            }
+            // Released without a response, try to acquire the key for this request
+        }
+    }
+
+    @Override
+    public void complete(String key, IdempotentResponse response) {
+        responses.put(key, response);
+        InFlight holder = inFlight.remove(key);
+        if (holder != null) {
+            holder.response().complete(response);
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        InFlight holder = inFlight.remove(key);
+        if (holder != null) {
+            holder.response().complete(null);
+        }
+    }
+
+    /**
+     * @return number of stored responses
+     */
+    public long size() {
+        return responses.estimatedSize();
+    }
+
+    private IdempotentResponse await(InFlight holder, long deadline) {
+        try {
+            return holder.response().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new DataConflictException(ValidationConstants.IDEMPOTENCY_KEY_IN_PROGRESS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataConflictException(ValidationConstants.IDEMPOTENCY_KEY_IN_PROGRESS, e);
+        } catch (ExecutionException e) {
+            // Never completed exceptionally, release completes with null instead
+            return null;
+        }
+    }
+
+    private static IdempotentResponse matching(IdempotentResponse stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new InvalidDataException(ValidationConstants.IDEMPOTENCY_KEY_REUSED);
+        }
+        return stored;
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<IdempotentResponse> response) {
+    }
+}
@@ -0,0 +1,21 @@
+package customer_management_service.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Identifies this service instance among the nodes sharing the customer event exchange.
+ * Stamped on every outgoing event so a node can recognise (and skip) its own events.
+ * Defaults to a random ID per process; set {@code customer.node-id} for a stable value.
+ */
+@Component
+@Getter
+public class NodeIdentity {
+
+    private final String id;
+
+    public NodeIdentity(@Value("${customer.node-id:${random.uuid}}") String id) {
+        this.id = id;
+    }
+}
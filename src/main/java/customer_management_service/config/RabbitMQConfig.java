@@ -15,6 +15,13 @@ public class RabbitMQConfig {
     public static final String CUSTOMER_CREATED_QUEUE = "customer.created.queue";
     public static final String CUSTOMER_UPDATED_QUEUE = "customer.updated.queue";
     public static final String CUSTOMER_DELETED_QUEUE = "customer.deleted.queue";
+    public static final String CUSTOMER_RETIREMENT_APPROACHING_QUEUE = "customer.retirement.approaching.queue";
+    public static final String CACHE_SYNC_QUEUE_PREFIX = "customer.cache-sync.";
+
+    /** Header carrying the {@link NodeIdentity} of the instance that produced the event. */
+    public static final String ORIGIN_NODE_HEADER = "x-origin-node";
+    /** Header carrying the ID of the customer the event refers to. */
+    public static final String CUSTOMER_ID_HEADER = "x-customer-id";
 
     @Bean
     public TopicExchange customerEventsExchange() {
@@ -36,6 +43,11 @@ public class RabbitMQConfig {
         return new Queue(CUSTOMER_DELETED_QUEUE, true);
     }
 
+    @Bean
+    public Queue customerRetirementApproachingQueue() {
+        return new Queue(CUSTOMER_RETIREMENT_APPROACHING_QUEUE, true);
+    }
+
     @Bean
     public Binding customerCreatedBinding() {
         return BindingBuilder.bind(customerCreatedQueue())
@@ -57,6 +69,31 @@ public class RabbitMQConfig {
                 .with("customer.deleted");
     }
 
+    @Bean
+    public Binding customerRetirementApproachingBinding() {
+        return BindingBuilder.bind(customerRetirementApproachingQueue())
+                .to(customerEventsExchange())
+                .with("customer.retirement.approaching");
+    }
+
+    /**
+     * Per-instance queue used to keep local caches in sync with writes made on other nodes.
+     * Exclusive and auto-delete, so it disappears with the connection of the instance that owns it.
+     */
+    @Bean
+    public AnonymousQueue customerCacheSyncQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy(CACHE_SYNC_QUEUE_PREFIX));
+    }
+
+    @Bean
+    public Declarables customerCacheSyncBindings() {
+        return new Declarables(
+                BindingBuilder.bind(customerCacheSyncQueue()).to(customerEventsExchange()).with("customer.created"),
+                BindingBuilder.bind(customerCacheSyncQueue()).to(customerEventsExchange()).with("customer.updated"),
+                BindingBuilder.bind(customerCacheSyncQueue()).to(customerEventsExchange()).with("customer.deleted")
+        );
+    }
+
     @Bean
     public MessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
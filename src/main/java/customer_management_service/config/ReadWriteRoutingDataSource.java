@@ -0,0 +1,57 @@
+package customer_management_service.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends the connections of read-only transactions to the read replica, while
+ * {@link ReplicaLagGuard} allows it, and every other connection to the primary.
+ * The transaction's read-only flag is only known once it has started, so this data source
+ * must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy},
+ * which fetches the connection at the first statement.
+ */
+class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaLagGuard replicaLagGuard;
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+
+    ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagGuard replicaLagGuard,
+                               MeterRegistry meterRegistry) {
+        this.replicaLagGuard = replicaLagGuard;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+        this.replicaReads = readCounter(meterRegistry, "replica");
+        this.primaryReads = readCounter(meterRegistry, "primary");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Target.PRIMARY;
+        }
+        if (replicaLagGuard.isReplicaUsable()) {
+            replicaReads.increment();
+            return Target.REPLICA;
+        }
+        primaryReads.increment();
+        return Target.PRIMARY;
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("customer.datasource.reads")
+            .description("Connections of read-only transactions, by the data source that served them")
+            .tag("target", target)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,92 @@
+package customer_management_service.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Periodically measures the replication lag of the read replica and decides whether
+ * read-only transactions may use it. The replica is taken out of rotation while its lag is
+ * above the configured maximum or while it cannot be queried, and read-only transactions
+ * then run on the primary.
+ */
+@Slf4j
+public class ReplicaLagGuard {
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+
+    private volatile double lagSeconds = Double.NaN;
+    private volatile boolean usable;
+
+    /**
+     * @param replica replica data source, queried directly rather than through the routing
+     * @param lagQuery query returning the lag in seconds, or blank to assume no lag
+     * @param maxLag lag above which the replica is not used
+     * @param meterRegistry registry for the lag and availability gauges
+     */
+    public ReplicaLagGuard(DataSource replica, String lagQuery, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        Gauge.builder("customer.datasource.replica.lag", this, guard -> guard.lagSeconds)
+            .description("Replication lag of the read replica")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        Gauge.builder("customer.datasource.replica.usable", this, guard -> guard.usable ? 1 : 0)
+            .description("Whether read-only transactions are routed to the replica")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Measures the lag and updates whether the replica can be used.
+     */
+    @PostConstruct
+    @Scheduled(
+        fixedDelayString = "${customer.datasource.replica.lag-check-interval-ms:1000}",
+        initialDelayString = "${customer.datasource.replica.lag-check-interval-ms:1000}"
+    )
+    public void check() {
+        boolean wasUsable = usable;
+        try {
+            lagSeconds = measureLag();
+            usable = lagSeconds <= maxLagSeconds;
+            if (wasUsable && !usable) {
+                log.warn("Read replica lag is {} s, above {} s: reads go to the primary", lagSeconds, maxLagSeconds);
+            }
+        } catch (RuntimeException e) {
+            lagSeconds = Double.NaN;
+            usable = false;
+            if (wasUsable) {
+                log.warn("Read replica unavailable, reads go to the primary: {}", e.getMessage());
+            }
+        }
+        if (!wasUsable && usable) {
+            log.info("Read replica in rotation, lag {} s", lagSeconds);
+        }
+    }
+
+    private double measureLag() {
+        if (lagQuery == null || lagQuery.isBlank()) {
+            replica.execute("SELECT 1");
+            return 0.0;
+        }
+        // The replay functions return null when the server is not a standby
+        Double lag = replica.queryForObject(lagQuery, Double.class);
+        return lag == null ? 0.0 : lag;
+    }
+
+    /**
+     * @return whether read-only transactions may run on the replica
+     */
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+}
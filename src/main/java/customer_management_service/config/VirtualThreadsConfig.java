@@ -0,0 +1,63 @@
+package customer_management_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Startup guard for the virtual-thread mode ({@code spring.threads.virtual.enabled}).
+ * With virtual threads every request can reach the connection pool at once, so the pool
+ * sizing is checked here and the application refuses to start with settings that would
+ * turn a burst into long queues on the pool. It also refuses to start on a runtime older
+ * than Java 21, where Spring Boot would silently fall back to platform threads.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class VirtualThreadsConfig {
+
+    private static final int MIN_JAVA_VERSION = 21;
+
+    private final DataSource dataSource;
+
+    @Value("${customer.virtual-threads.min-pool-size:10}")
+    private int minPoolSize;
+
+    @Value("${customer.virtual-threads.max-connection-wait-ms:2000}")
+    private long maxConnectionWaitMs;
+
+    @PostConstruct
+    public void validate() throws SQLException {
+        int javaVersion = Runtime.version().feature();
+        if (javaVersion < MIN_JAVA_VERSION) {
+            throw new IllegalStateException(String.format(
+                "Virtual threads require Java %d or later, running on Java %d", MIN_JAVA_VERSION, javaVersion));
+        }
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            log.warn("Virtual threads enabled with a non-Hikari data source, pool sizing is not checked");
+            return;
+        }
+
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        if (pool.getMaximumPoolSize() < minPoolSize) {
+            throw new IllegalStateException(String.format(
+                "spring.datasource.hikari.maximum-pool-size is %d, virtual threads require at least %d",
+                pool.getMaximumPoolSize(), minPoolSize));
+        }
+        if (pool.getConnectionTimeout() > maxConnectionWaitMs) {
+            throw new IllegalStateException(String.format(
+                "spring.datasource.hikari.connection-timeout is %d ms, virtual threads require at most %d ms",
+                pool.getConnectionTimeout(), maxConnectionWaitMs));
+        }
+        log.info("Virtual threads enabled: connection pool of {} with {} ms max wait",
+            pool.getMaximumPoolSize(), pool.getConnectionTimeout());
+    }
+}
@@ -0,0 +1,30 @@
+package customer_management_service.config;
+
+import customer_management_service.validation.TimedValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.Validator;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<jakarta.validation.Validator> validator;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    /**
+     * Times the validation of {@code @Valid} request bodies when a meter registry is available.
+     */
+    @Override
+    public Validator getValidator() {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        jakarta.validation.Validator target = validator.getIfUnique();
+        if (registry == null || target == null) {
+            return null;
+        }
+        return new TimedValidator(target, registry);
+    }
+}
@@ -1,20 +1,46 @@
 package customer_management_service.controller;
 
+import customer_management_service.dto.BulkCustomerResponseDTO;
+import customer_management_service.dto.CustomerBatchGetRequestDTO;
+import customer_management_service.dto.CustomerBatchGetResponseDTO;
 import customer_management_service.dto.CustomerCreateDTO;
 import customer_management_service.dto.CustomerDTO;
+import customer_management_service.dto.CustomerFilterDTO;
+import customer_management_service.dto.CustomerPageDTO;
+import customer_management_service.dto.CustomerSearchResultDTO;
 import customer_management_service.dto.CustomerUpdateDTO;
 import customer_management_service.dto.CustomerStatsDTO;
+import customer_management_service.service.CustomerBulkImportService;
+import customer_management_service.service.CustomerExportFormat;
+import customer_management_service.service.CustomerExportService;
 import customer_management_service.service.CustomerService;
+import customer_management_service.service.CustomerVersionLookup;
+import customer_management_service.service.CustomerVersionLookup.CustomerVersion;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/customers")
@@ -22,46 +48,137 @@ import java.util.List;
 @Tag(name = "Customer Management", description = "APIs for customer management")
 public class CustomerController {
 
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
     private final CustomerService customerService;
+    private final CustomerBulkImportService customerBulkImportService;
+    private final CustomerExportService customerExportService;
+    private final CustomerVersionLookup customerVersionLookup;
 
     @PostMapping
     @Operation(summary = "Create a new customer")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Customer created successfully"),
-        @ApiResponse(responseCode = "400", description = "Invalid input data")
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "409", description = "A customer with the same name and birth date already exists")
     })
     public ResponseEntity<CustomerDTO> createCustomer(@Valid @RequestBody CustomerCreateDTO customerDTO) {
         return ResponseEntity.ok(customerService.createCustomer(customerDTO));
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Create customers in bulk from a JSON array or an NDJSON stream")
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(content = @Content(
+        array = @ArraySchema(schema = @Schema(implementation = CustomerCreateDTO.class))))
+    @ApiResponse(responseCode = "200", description = "Rows processed, see the per-row results")
+    public ResponseEntity<BulkCustomerResponseDTO> importCustomers(InputStream body) {
+        return ResponseEntity.ok(customerBulkImportService.importCustomers(body));
+    }
+
     @GetMapping
-    @Operation(summary = "Get all customers")
-    @ApiResponse(responseCode = "200", description = "List of customers retrieved successfully")
-    public ResponseEntity<List<CustomerDTO>> getAllCustomers() {
-        return ResponseEntity.ok(customerService.getAllCustomers());
+    @Operation(summary = "Get customers, optionally filtered and sorted, one keyset page at a time")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page of customers retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor, page size, filter or sort")
+    })
+    public ResponseEntity<CustomerPageDTO> getAllCustomers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @ParameterObject CustomerFilterDTO filter) {
+        return ResponseEntity.ok(customerService.getAllCustomers(cursor, size, filter));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search customers by first or last name prefix, ignoring case and accents")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Matching customers"),
+        @ApiResponse(responseCode = "400", description = "Empty query or invalid limit")
+    })
+    public ResponseEntity<List<CustomerSearchResultDTO>> searchCustomers(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(customerService.searchCustomers(q, limit));
+    }
+
+    @PostMapping("/batch-get")
+    @Operation(summary = "Get many customers by ID in one request")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Customers found and missing IDs, in request order"),
+        @ApiResponse(responseCode = "400", description = "No IDs, too many IDs or a null ID")
+    })
+    public ResponseEntity<CustomerBatchGetResponseDTO> getCustomersByIds(
+            @Valid @RequestBody CustomerBatchGetRequestDTO request) {
+        return ResponseEntity.ok(customerService.getCustomersByIds(request.getIds()));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export every customer as CSV or NDJSON, streamed and gzip-compressed when accepted")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Customers streamed in ID order"),
+        @ApiResponse(responseCode = "400", description = "Unsupported format")
+    })
+    public void exportCustomers(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+        CustomerExportFormat exportFormat = CustomerExportFormat.parse(format);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename("customers." + exportFormat.getExtension()).build().toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            GZIPOutputStream out = new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE);
+            customerExportService.export(exportFormat, out);
+            out.finish();
+        } else {
+            customerExportService.export(exportFormat, response.getOutputStream());
+        }
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get customer by ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Customer found"),
+        @ApiResponse(responseCode = "304", description = "Customer unchanged since the If-None-Match / If-Modified-Since version"),
         @ApiResponse(responseCode = "404", description = "Customer not found")
     })
-    public ResponseEntity<CustomerDTO> getCustomerById(@PathVariable Long id) {
+    public ResponseEntity<CustomerDTO> getCustomerById(@PathVariable Long id, WebRequest request) {
+        // The version is read before the customer: if it changes in between, the client gets
+        // newer data under an older tag and simply receives them again on the next poll
+        Optional<CustomerVersion> version = customerVersionLookup.getCustomerVersion(id);
+        if (version.isPresent() && request.checkNotModified(version.get().eTag(), version.get().lastModifiedMillis())) {
+            customerVersionLookup.recordGet(CustomerVersionLookup.CUSTOMER_RESOURCE, true);
+            return null;
+        }
+        customerVersionLookup.recordGet(CustomerVersionLookup.CUSTOMER_RESOURCE, false);
+        // checkNotModified has already set ETag and Last-Modified from the version read above
         return ResponseEntity.ok(customerService.getCustomerById(id));
     }
 
     @PatchMapping("/{id}")
-    @Operation(summary = "Partially update customer by ID")
+    @Operation(summary = "Partially update customer by ID, optionally only if it is still at the If-Match version")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Customer updated successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid input data"),
-        @ApiResponse(responseCode = "404", description = "Customer not found")
+        @ApiResponse(responseCode = "404", description = "Customer not found"),
+        @ApiResponse(responseCode = "409", description = "Customer modified concurrently, or the change duplicates another customer"),
+        @ApiResponse(responseCode = "412", description = "Customer no longer at the If-Match version")
     })
     public ResponseEntity<CustomerDTO> updateCustomer(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody CustomerUpdateDTO customerDTO) {
-        return ResponseEntity.ok(customerService.updateCustomer(id, customerDTO));
+        CustomerDTO customer = customerService.updateCustomer(
+            id, customerDTO, CustomerVersion.acceptedVersions(id, ifMatch));
+        CustomerVersion version = CustomerVersion.of(customer);
+        return ResponseEntity.ok()
+            .eTag(version.eTag())
+            .lastModified(version.lastModifiedMillis())
+            .body(customer);
     }
 
     @DeleteMapping("/{id}")
@@ -77,8 +194,18 @@ public class CustomerController {
 
     @GetMapping("/stats")
     @Operation(summary = "Get all customer statistics")
-    @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully")
-    public ResponseEntity<CustomerStatsDTO> getCustomerStats() {
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Statistics unchanged since the If-None-Match version")
+    })
+    public ResponseEntity<CustomerStatsDTO> getCustomerStats(WebRequest request) {
+        // Same ordering as for a single customer: version first, then the statistics
+        String version = customerVersionLookup.getStatsVersion();
+        if (request.checkNotModified(version)) {
+            customerVersionLookup.recordGet(CustomerVersionLookup.STATS_RESOURCE, true);
+            return null;
+        }
+        customerVersionLookup.recordGet(CustomerVersionLookup.STATS_RESOURCE, false);
         return ResponseEntity.ok(customerService.getCustomerStats());
     }
 
@@ -0,0 +1,25 @@
+package customer_management_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCustomerResponseDTO {
+    @Schema(example = "1000", description = "Number of rows read from the request body")
+    private int received;
+    
+    @Schema(example = "998", description = "Number of customers created")
+    private int created;
+    
+    @Schema(example = "2", description = "Number of rows rejected")
+    private int rejected;
+    
+    @Schema(description = "Per-row results, in request order")
+    private List<BulkCustomerResultDTO> results;
+}
@@ -0,0 +1,39 @@
+package customer_management_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCustomerResultDTO {
+
+    public enum Status {
+        CREATED, REJECTED
+    }
+
+    @Schema(example = "0", description = "Zero-based position of the row in the request body")
+    private int index;
+    
+    @Schema(example = "CREATED")
+    private Status status;
+    
+    @Schema(example = "1", description = "ID of the created customer, null when the row was rejected")
+    private Long id;
+    
+    @Schema(example = "{\"age\": \"Age must be less than or equal to 150\"}", 
+            description = "Validation errors of a rejected row, by field name")
+    private Map<String, String> errors;
+
+    public static BulkCustomerResultDTO created(int index, Long id) {
+        return new BulkCustomerResultDTO(index, Status.CREATED, id, null);
+    }
+
+    public static BulkCustomerResultDTO rejected(int index, Map<String, String> errors) {
+        return new BulkCustomerResultDTO(index, Status.REJECTED, null, errors);
+    }
+}
@@ -0,0 +1,23 @@
+package customer_management_service.dto;
+
+import customer_management_service.validation.ValidationConstants;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerBatchGetRequestDTO {
+    @NotEmpty(message = ValidationConstants.BATCH_GET_IDS_REQUIRED)
+    @Size(max = ValidationConstants.MAX_BATCH_GET_IDS, message = ValidationConstants.BATCH_GET_IDS_SIZE)
+    @ArraySchema(schema = @Schema(example = "1"), arraySchema = @Schema(description = "Customer IDs, duplicates are returned once"))
+    private List<@NotNull(message = ValidationConstants.BATCH_GET_ID_REQUIRED) Long> ids;
+}
@@ -0,0 +1,19 @@
+package customer_management_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerBatchGetResponseDTO {
+    @Schema(description = "Customers found, in request order")
+    private List<CustomerDTO> customers;
+    
+    @Schema(description = "Requested IDs with no customer, in request order")
+    private List<Long> missingIds;
+}
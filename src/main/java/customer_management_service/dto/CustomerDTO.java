@@ -35,4 +35,7 @@ public class CustomerDTO {
     
     @Schema(example = "2024-01-15T14:45:00")
     private LocalDateTime updateDate;
+
+    @Schema(example = "3", description = "Incremented on every update, sent back in If-Match to update this version only")
+    private Long version;
 } 
\ No newline at end of file
@@ -0,0 +1,48 @@
+package customer_management_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerFilterDTO {
+    @Schema(example = "30", description = "Minimum age, inclusive")
+    private Integer ageMin;
+    
+    @Schema(example = "40", description = "Maximum age, inclusive")
+    private Integer ageMax;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    @Schema(example = "1980-01-01", description = "Only customers born after this date")
+    private LocalDate bornAfter;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    @Schema(example = "1995-12-31", description = "Only customers born before this date")
+    private LocalDate bornBefore;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    @Schema(example = "2030-01-01", description = "Only customers whose estimated retirement date is before this date")
+    private LocalDate retiringBefore;
+    
+    @Schema(example = "Gó", description = "Last name prefix, case-insensitive")
+    private String lastNamePrefix;
+    
+    @Schema(example = "age,desc", 
+            description = "Sort field (creationDate, age, birthDate, lastName) and optional direction (asc, desc). "
+                    + "Defaults to creationDate,desc")
+    private String sort;
+
+    /**
+     * @return true if any filter criterion is set, the sort is not considered
+     */
+    public boolean hasCriteria() {
+        return ageMin != null || ageMax != null || bornAfter != null || bornBefore != null
+                || retiringBefore != null || (lastNamePrefix != null && !lastNamePrefix.isBlank());
+    }
+}
@@ -0,0 +1,20 @@
+package customer_management_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerPageDTO {
+    @Schema(description = "Customers in this page, newest first")
+    private List<CustomerDTO> content;
+    
+    @Schema(example = "MjAyNC0wMS0xNVQxMDozMDowMHwxMjM", 
+            description = "Opaque token to request the next page, null when there are no more customers")
+    private String nextCursor;
+}
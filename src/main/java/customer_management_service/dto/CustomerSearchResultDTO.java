@@ -0,0 +1,20 @@
+package customer_management_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerSearchResultDTO {
+    @Schema(example = "1")
+    private Long id;
+    
+    @Schema(example = "Juan")
+    private String firstName;
+    
+    @Schema(example = "Pérez")
+    private String lastName;
+}
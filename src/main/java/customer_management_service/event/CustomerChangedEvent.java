@@ -0,0 +1,47 @@
+package customer_management_service.event;
+
+import customer_management_service.model.Customer;
+
+import java.util.List;
+
+/**
+ * Application event published by the service layer whenever a customer is created,
+ * updated or deleted. Listeners that maintain derived in-memory state should consume it
+ * with {@code @TransactionalEventListener} so they only observe committed changes.
+ *
+ * @param type kind of change
+ * @param before state before the change, null for creations
+ * @param after state after the change, null for deletions
+ */
+public record CustomerChangedEvent(ChangeType type, CustomerSnapshot before, CustomerSnapshot after) {
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static CustomerChangedEvent created(Customer customer) {
+        return new CustomerChangedEvent(ChangeType.CREATED, null, CustomerSnapshot.of(customer));
+    }
+
+    public static CustomerChangedEvent updated(CustomerSnapshot before, Customer customer) {
+        return new CustomerChangedEvent(ChangeType.UPDATED, before, CustomerSnapshot.of(customer));
+    }
+
+    public static CustomerChangedEvent deleted(Customer customer) {
+        return new CustomerChangedEvent(ChangeType.DELETED, CustomerSnapshot.of(customer), null);
+    }
+
+    /**
+     * @return names of the fields changed by an update, empty for creations and deletions
+     */
+    public List<String> changedFields() {
+        return type == ChangeType.UPDATED ? CustomerSnapshot.changedFields(before, after) : List.of();
+    }
+
+    /**
+     * @return id of the affected customer
+     */
+    public Long customerId() {
+        return after != null ? after.id() : before.id();
+    }
+}
@@ -0,0 +1,41 @@
+package customer_management_service.event;
+
+import customer_management_service.model.Customer;
+
+import java.time.LocalDate;
+
+/**
+ * Message published on {@code customer.created}. Carries the business fields of the new
+ * customer only; audit timestamps and other entity internals are not part of the contract.
+ *
+ * @param schemaVersion version of this message layout
+ * @param id customer ID
+ * @param firstName first name
+ * @param lastName last name
+ * @param age age
+ * @param birthDate birth date
+ * @param estimatedEventDate estimated retirement date
+ */
+public record CustomerCreatedMessage(
+        int schemaVersion,
+        Long id,
+        String firstName,
+        String lastName,
+        Integer age,
+        LocalDate birthDate,
+        LocalDate estimatedEventDate) {
+
+    public static final int SCHEMA_VERSION = 1;
+
+    public static CustomerCreatedMessage of(Customer customer) {
+        return new CustomerCreatedMessage(
+            SCHEMA_VERSION,
+            customer.getId(),
+            customer.getFirstName(),
+            customer.getLastName(),
+            customer.getAge(),
+            customer.getBirthDate(),
+            customer.getEstimatedEventDate()
+        );
+    }
+}
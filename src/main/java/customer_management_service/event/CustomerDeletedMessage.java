@@ -0,0 +1,16 @@
+package customer_management_service.event;
+
+/**
+ * Message published on {@code customer.deleted}.
+ *
+ * @param schemaVersion version of this message layout
+ * @param id ID of the deleted customer
+ */
+public record CustomerDeletedMessage(int schemaVersion, Long id) {
+
+    public static final int SCHEMA_VERSION = 1;
+
+    public static CustomerDeletedMessage of(Long id) {
+        return new CustomerDeletedMessage(SCHEMA_VERSION, id);
+    }
+}
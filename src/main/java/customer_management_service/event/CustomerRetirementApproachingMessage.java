@@ -0,0 +1,21 @@
+package customer_management_service.event;
+
+import java.time.LocalDate;
+
+/**
+ * Message published on {@code customer.retirement.approaching} ahead of a customer's
+ * estimated retirement date. Delivery is at-least-once, consumers should deduplicate on
+ * the customer ID and event date.
+ *
+ * @param schemaVersion version of this message layout
+ * @param id customer about to retire
+ * @param estimatedEventDate estimated retirement date
+ */
+public record CustomerRetirementApproachingMessage(int schemaVersion, Long id, LocalDate estimatedEventDate) {
+
+    public static final int SCHEMA_VERSION = 1;
+
+    public static CustomerRetirementApproachingMessage of(Long id, LocalDate estimatedEventDate) {
+        return new CustomerRetirementApproachingMessage(SCHEMA_VERSION, id, estimatedEventDate);
+    }
+}
@@ -0,0 +1,61 @@
+package customer_management_service.event;
+
+import customer_management_service.model.Customer;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable copy of the customer state at the moment an event was raised.
+ * The JPA entity is mutable and managed, so listeners never receive it directly.
+ */
+public record CustomerSnapshot(
+        Long id,
+        String firstName,
+        String lastName,
+        Integer age,
+        LocalDate birthDate,
+        LocalDate estimatedEventDate) {
+
+    public static final String FIRST_NAME = "firstName";
+    public static final String LAST_NAME = "lastName";
+    public static final String AGE = "age";
+    public static final String BIRTH_DATE = "birthDate";
+    public static final String ESTIMATED_EVENT_DATE = "estimatedEventDate";
+
+    public static CustomerSnapshot of(Customer customer) {
+        return new CustomerSnapshot(
+            customer.getId(),
+            customer.getFirstName(),
+            customer.getLastName(),
+            customer.getAge(),
+            customer.getBirthDate(),
+            customer.getEstimatedEventDate()
+        );
+    }
+
+    /**
+     * Compares two states of the same customer field by field.
+     *
+     * @param before earlier state
+     * @param after later state
+     * @return names of the fields whose value differs, in declaration order
+     */
+    public static List<String> changedFields(CustomerSnapshot before, CustomerSnapshot after) {
+        List<String> changed = new ArrayList<>(5);
+        addIfChanged(changed, FIRST_NAME, before.firstName(), after.firstName());
+        addIfChanged(changed, LAST_NAME, before.lastName(), after.lastName());
+        addIfChanged(changed, AGE, before.age(), after.age());
+        addIfChanged(changed, BIRTH_DATE, before.birthDate(), after.birthDate());
+        addIfChanged(changed, ESTIMATED_EVENT_DATE, before.estimatedEventDate(), after.estimatedEventDate());
+        return changed;
+    }
+
+    private static void addIfChanged(List<String> changed, String field, Object before, Object after) {
+        if (!Objects.equals(before, after)) {
+            changed.add(field);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package customer_management_service.event;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Message published on {@code customer.updated}. Only the fields listed in
+ * {@code changedFields} are present, each with its new value; unchanged fields are omitted.
+ *
+ * @param schemaVersion version of this message layout
+ * @param id customer ID
+ * @param changedFields names of the fields that changed
+ * @param firstName new first name, if changed
+ * @param lastName new last name, if changed
+ * @param age new age, if changed
+ * @param birthDate new birth date, if changed
+ * @param estimatedEventDate new estimated retirement date, if changed
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CustomerUpdatedMessage(
+        int schemaVersion,
+        Long id,
+        List<String> changedFields,
+        String firstName,
+        String lastName,
+        Integer age,
+        LocalDate birthDate,
+        LocalDate estimatedEventDate) {
+
+    public static final int SCHEMA_VERSION = 1;
+
+    /**
+     * Builds the message from the customer state before and after the update.
+     *
+     * @param before state before the update
+     * @param after state after the update
+     * @return message with the changed fields only
+     */
+    public static CustomerUpdatedMessage of(CustomerSnapshot before, CustomerSnapshot after) {
+        List<String> changed = CustomerSnapshot.changedFields(before, after);
+        return new CustomerUpdatedMessage(
+            SCHEMA_VERSION,
+            after.id(),
+            changed,
+            ifChanged(changed, CustomerSnapshot.FIRST_NAME, after.firstName()),
+            ifChanged(changed, CustomerSnapshot.LAST_NAME, after.lastName()),
+            ifChanged(changed, CustomerSnapshot.AGE, after.age()),
+            ifChanged(changed, CustomerSnapshot.BIRTH_DATE, after.birthDate()),
+            ifChanged(changed, CustomerSnapshot.ESTIMATED_EVENT_DATE, after.estimatedEventDate()));
+    }
+
+    private static <T> T ifChanged(List<String> changed, String field, T value) {
+        return changed.contains(field) ? value : null;
+    }
+}
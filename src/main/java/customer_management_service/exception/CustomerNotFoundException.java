@@ -3,10 +3,14 @@ package customer_management_service.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+/**
+ * Expected outcome of lookups of missing IDs, which can be frequent: thrown without filling
+ * in a stack trace.
+ */
 @ResponseStatus(HttpStatus.NOT_FOUND)
 public class CustomerNotFoundException extends RuntimeException {
     
     public CustomerNotFoundException(Long id) {
-        super(String.format("Customer not found with ID: %d", id));
+        super("Customer not found with ID: " + id, null, false, false);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,16 @@
+package customer_management_service.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Conflict detected before writing: the request was conditional on a version of the
+ * resource (If-Match) that is no longer the current one.
+ */
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class PreconditionFailedException extends DataConflictException {
+    
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
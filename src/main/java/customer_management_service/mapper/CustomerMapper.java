@@ -5,9 +5,11 @@ import customer_management_service.dto.CustomerDTO;
 import customer_management_service.dto.CustomerUpdateDTO;
 import customer_management_service.exception.InvalidDataException;
 import customer_management_service.model.Customer;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Component;
 
 @Component
+@Timed(value = "customer.mapper", description = "Customer DTO/entity mapping")
 public class CustomerMapper {
     
     public CustomerDTO toDTO(Customer customer) {
@@ -24,6 +26,7 @@ public class CustomerMapper {
         dto.setEstimatedEventDate(customer.getEstimatedEventDate());
         dto.setCreationDate(customer.getCreationDate());
         dto.setUpdateDate(customer.getUpdateDate());
+        dto.setVersion(customer.getVersion());
         
         return dto;
     }
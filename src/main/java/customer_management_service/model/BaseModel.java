@@ -2,6 +2,7 @@ package customer_management_service.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.GenericGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -15,7 +16,8 @@ import java.time.LocalDateTime;
 public abstract class BaseModel implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "pooled_sequence")
+    @GenericGenerator(name = "pooled_sequence", type = PooledSequenceIdGenerator.class)
     private Long id;
 
     @CreatedDate
@@ -25,4 +27,12 @@ public abstract class BaseModel implements Serializable {
     @LastModifiedDate
     @Column(name = "update_date")
     private LocalDateTime updateDate;
+
+    /**
+     * Optimistic lock: incremented by every update, which only applies if the row still has
+     * the version that was read.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
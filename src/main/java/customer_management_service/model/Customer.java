@@ -1,7 +1,9 @@
 package customer_management_service.model;
+import customer_management_service.validation.CustomerFingerprint;
 import jakarta.persistence.*;
 import lombok.*;
 import io.swagger.v3.oas.annotations.media.Schema;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 
@@ -9,11 +11,23 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "customers")
+@Table(name = "customers", indexes = {
+    @Index(name = "idx_customers_creation_date_id", columnList = "creation_date DESC, id DESC"),
+    @Index(name = "idx_customers_age_id", columnList = "age, id"),
+    @Index(name = "idx_customers_birth_date_id", columnList = "birth_date, id"),
+    @Index(name = "idx_customers_estimated_event_date_id", columnList = "estimated_event_date, id"),
+    @Index(name = "idx_customers_last_name_id", columnList = "last_name, id")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = Customer.FINGERPRINT_CONSTRAINT, columnNames = "fingerprint")
+})
 @Schema(description = "System customer")
 @EqualsAndHashCode(callSuper = true)
+@DynamicUpdate
 public class Customer extends BaseModel {
 
+    /** Unique constraint on the fingerprint, named in the errors of duplicate inserts. */
+    public static final String FINGERPRINT_CONSTRAINT = "uk_customers_fingerprint";
+
     @Column(nullable = false)
     private String firstName;
 
@@ -28,4 +42,20 @@ public class Customer extends BaseModel {
 
     @Column(name = "estimated_event_date")
     private LocalDate estimatedEventDate;
+
+    /**
+     * {@link CustomerFingerprint} of the names and
+     * birth date, null for customers created before it existed and not yet backfilled.
+     */
+    @Column(length = CustomerFingerprint.LENGTH)
+    @Schema(hidden = true)
+    private String fingerprint;
+
+    /**
+     * Estimated event date the retirement approaching notification was sent for,
+     * null if none was sent yet. A changed event date is notified again.
+     */
+    @Column(name = "retirement_notified_for")
+    @Schema(hidden = true)
+    private LocalDate retirementNotifiedFor;
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package customer_management_service.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency key shared by all instances. The row is inserted without a status when a
+ * request acquires the key, so the primary key serializes concurrent requests, and filled
+ * in with the response once the request completes.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+    @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at")
+})
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key", length = 64)
+    private String idempotencyKey;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    private Integer status;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "etag", length = 64)
+    private String entityTag;
+
+    @Column(name = "last_modified", length = 64)
+    private String lastModified;
+
+    @Column(length = 65536)
+    private byte[] body;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
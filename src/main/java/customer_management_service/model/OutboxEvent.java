@@ -0,0 +1,60 @@
+package customer_management_service.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+
+import java.time.LocalDateTime;
+
+/**
+ * Customer event waiting to be relayed to RabbitMQ.
+ * Rows are written in the same transaction as the customer change and marked as
+ * published once the broker confirms them, giving at-least-once delivery.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "customer_outbox", indexes = {
+    @Index(name = "idx_customer_outbox_published_at_id", columnList = "published_at, id")
+})
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(generator = "pooled_sequence")
+    @GenericGenerator(name = "pooled_sequence", type = PooledSequenceIdGenerator.class)
+    private Long id;
+
+    @Column(nullable = false)
+    private String exchange;
+
+    @Column(name = "routing_key", nullable = false)
+    private String routingKey;
+
+    @Column(name = "aggregate_id")
+    private Long aggregateId;
+
+    @Column(nullable = false, length = 65536)
+    private byte[] payload;
+
+    @Column(name = "origin_node", length = 64)
+    private String originNode;
+
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    @Column(name = "payload_type")
+    private String payloadType;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+}
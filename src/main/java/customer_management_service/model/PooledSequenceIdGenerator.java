@@ -0,0 +1,41 @@
+package customer_management_service.model;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Sequence-based ID generator using the pooled-lo optimizer.
+ * Each sequence call reserves a block of {@code allocation_size} IDs that are then handed
+ * out in memory, so inserts need no extra round trip and Hibernate can batch them.
+ * The block size is read from the {@value #ALLOCATION_SIZE_SETTING} Hibernate setting
+ * ({@code spring.jpa.properties.customer_management.id.allocation_size}) and must match
+ * the INCREMENT BY of the database sequence. Unless a {@code sequence_name} parameter is given,
+ * each table gets its own {@code <table>_seq} sequence.
+ */
+public class PooledSequenceIdGenerator extends SequenceStyleGenerator {
+
+    public static final String ALLOCATION_SIZE_SETTING = "customer_management.id.allocation_size";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    private static final String SEQUENCE_SUFFIX = "_seq";
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        Object allocationSize = serviceRegistry.requireService(ConfigurationService.class)
+            .getSettings()
+            .getOrDefault(ALLOCATION_SIZE_SETTING, DEFAULT_ALLOCATION_SIZE);
+
+        if (parameters.getProperty(SEQUENCE_PARAM) == null) {
+            parameters.setProperty(SEQUENCE_PARAM, parameters.getProperty(TABLE) + SEQUENCE_SUFFIX);
+        }
+        parameters.setProperty(INCREMENT_PARAM, allocationSize.toString());
+        parameters.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
@@ -0,0 +1,13 @@
+package customer_management_service.repository;
+
+/**
+ * Projection with the raw aggregates needed to derive the age statistics.
+ */
+public interface AgeAggregates {
+
+    Long getTotal();
+
+    Long getAgeSum();
+
+    Long getAgeSquaresSum();
+}
@@ -0,0 +1,25 @@
+package customer_management_service.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Projection with the fields needed to schedule retirement notifications.
+ */
+public interface CustomerEventDate {
+
+    Long getId();
+
+    LocalDate getEstimatedEventDate();
+
+    /**
+     * @return event date the notification was already sent for, or null
+     */
+    LocalDate getRetirementNotifiedFor();
+
+    /**
+     * @return whether the notification for the current event date was already sent
+     */
+    default boolean isNotified() {
+        return getEstimatedEventDate() != null && getEstimatedEventDate().equals(getRetirementNotifiedFor());
+    }
+}
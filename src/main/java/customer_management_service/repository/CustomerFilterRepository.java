@@ -0,0 +1,26 @@
+package customer_management_service.repository;
+
+import customer_management_service.dto.CustomerDTO;
+import customer_management_service.model.Customer;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Repository fragment for filtered, sorted customer listings built from {@link CustomerSpecifications}.
+ */
+public interface CustomerFilterRepository {
+
+    /**
+     * Runs the filter as a single query, without the count query of a paged lookup.
+     * Rows are selected straight into DTOs, like the other read queries of {@link CustomerRepository}.
+     *
+     * @param specification filter criteria, including the keyset position if any
+     * @param sort ordering, should end with the ID so the result is deterministic
+     * @param limit maximum number of customers to return
+     * @return matching customers in the requested order
+     */
+    List<CustomerDTO> findFiltered(Specification<Customer> specification, Sort sort, Limit limit);
+}
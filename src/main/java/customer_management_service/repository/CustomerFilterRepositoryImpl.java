@@ -0,0 +1,47 @@
+package customer_management_service.repository;
+
+import customer_management_service.dto.CustomerDTO;
+import customer_management_service.model.Customer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class CustomerFilterRepositoryImpl implements CustomerFilterRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<CustomerDTO> findFiltered(Specification<Customer> specification, Sort sort, Limit limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CustomerDTO> query = builder.createQuery(CustomerDTO.class);
+        Root<Customer> root = query.from(Customer.class);
+
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        // Same columns, in the same order, as CustomerRepository.SELECT_DTO
+        query.select(builder.construct(CustomerDTO.class,
+                root.get("id"), root.get("firstName"), root.get("lastName"), root.get("age"),
+                root.get("birthDate"), root.get("estimatedEventDate"), root.get("creationDate"),
+                root.get("updateDate"), root.get("version")))
+            .orderBy(QueryUtils.toOrders(sort, root, builder));
+
+        TypedQuery<CustomerDTO> typedQuery = entityManager.createQuery(query);
+        if (limit.isLimited()) {
+            typedQuery.setMaxResults(limit.max());
+        }
+        return typedQuery.getResultList();
+    }
+}
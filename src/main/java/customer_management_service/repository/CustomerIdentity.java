@@ -0,0 +1,20 @@
+package customer_management_service.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of the fields a customer's duplicate fingerprint is computed from,
+ * plus the stored fingerprint (null until backfilled).
+ */
+public interface CustomerIdentity {
+
+    Long getId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    LocalDate getBirthDate();
+
+    String getFingerprint();
+}
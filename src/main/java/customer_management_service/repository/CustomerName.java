@@ -0,0 +1,13 @@
+package customer_management_service.repository;
+
+/**
+ * Projection with the fields needed to build the name search index.
+ */
+public interface CustomerName {
+
+    Long getId();
+
+    String getFirstName();
+
+    String getLastName();
+}
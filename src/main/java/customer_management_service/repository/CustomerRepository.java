@@ -1,20 +1,167 @@
 package customer_management_service.repository;
 
+import customer_management_service.dto.CustomerDTO;
 import customer_management_service.model.Customer;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * Read-only transactions may be served by the read replica (see ReadReplicaConfig). The
+ * queries that seed the in-memory statistics, search index and retirement schedule are
+ * marked read-write so they always see the primary: state derived from a lagging replica
+ * would stay wrong until the next full rebuild.
+ */
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
+public interface CustomerRepository extends JpaRepository<Customer, Long>, CustomerFilterRepository {
     
-    List<Customer> findAllByOrderByCreationDateDesc();
+    /**
+     * Selects the columns of a customer straight into a {@link CustomerDTO}, used by the read
+     * queries: the rows never become managed entities, so there is no persistence context
+     * snapshot to keep for dirty checking and no entity-to-DTO copy.
+     */
+    String SELECT_DTO = "SELECT new customer_management_service.dto.CustomerDTO("
+            + "c.id, c.firstName, c.lastName, c.age, c.birthDate, c.estimatedEventDate, "
+            + "c.creationDate, c.updateDate, c.version) FROM Customer c ";
     
-    @Query("SELECT AVG(c.age) FROM Customer c")
-    Double getAverageAge();
+    /**
+     * First page of the unfiltered listing, newest customers first.
+     */
+    @Query(SELECT_DTO + "ORDER BY c.creationDate DESC, c.id DESC")
+    List<CustomerDTO> findFirstPage(Limit limit);
     
-    @Query("SELECT SQRT(AVG(POWER(c.age - (SELECT AVG(c2.age) FROM Customer c2), 2))) FROM Customer c")
-    Double getAgeStandardDeviation();
-} 
\ No newline at end of file
+    /**
+     * Keyset page query: returns the customers that sort strictly after the given
+     * (creationDate, id) position, served by idx_customers_creation_date_id.
+     */
+    @Query(SELECT_DTO
+            + "WHERE c.creationDate < :creationDate "
+            + "OR (c.creationDate = :creationDate AND c.id < :id) "
+            + "ORDER BY c.creationDate DESC, c.id DESC")
+    List<CustomerDTO> findPageAfter(@Param("creationDate") LocalDateTime creationDate,
+                                    @Param("id") Long id,
+                                    Limit limit);
+    
+    /**
+     * Single customer as a DTO, for reads that do not modify it.
+     */
+    @Query(SELECT_DTO + "WHERE c.id = :id")
+    Optional<CustomerDTO> findDTOById(@Param("id") Long id);
+    
+    /**
+     * Customers with the given IDs as DTOs, in no particular order.
+     */
+    @Query(SELECT_DTO + "WHERE c.id IN :ids")
+    List<CustomerDTO> findDTOsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Single-pass aggregate used to seed and reconcile the in-memory age statistics.
+     */
+    @Transactional
+    @Query("SELECT COUNT(c) AS total, COALESCE(SUM(c.age), 0) AS ageSum, "
+            + "COALESCE(SUM(c.age * c.age), 0) AS ageSquaresSum FROM Customer c")
+    AgeAggregates getAgeAggregates();
+    
+    /**
+     * Names of the customers with an ID greater than the given one, in ID order,
+     * used to build the search index in batches without loading whole entities.
+     */
+    @Transactional
+    @Query("SELECT c.id AS id, c.firstName AS firstName, c.lastName AS lastName FROM Customer c "
+            + "WHERE c.id > :afterId ORDER BY c.id")
+    List<CustomerName> findNamesAfter(@Param("afterId") Long afterId, Limit limit);
+    
+    /**
+     * Name of a single customer, used to refresh its search index entry.
+     */
+    @Transactional
+    @Query("SELECT c.id AS id, c.firstName AS firstName, c.lastName AS lastName FROM Customer c WHERE c.id = :id")
+    Optional<CustomerName> findNameById(@Param("id") Long id);
+    
+    /**
+     * Customers whose estimated event date falls in [from, to) and who were not notified for it yet,
+     * served by idx_customers_estimated_event_date_id. Used to fill the retirement notification window.
+     */
+    @Transactional
+    @Query("SELECT c.id AS id, c.estimatedEventDate AS estimatedEventDate, "
+            + "c.retirementNotifiedFor AS retirementNotifiedFor FROM Customer c "
+            + "WHERE c.estimatedEventDate >= :from AND c.estimatedEventDate < :to "
+            + "AND (c.retirementNotifiedFor IS NULL OR c.retirementNotifiedFor <> c.estimatedEventDate)")
+    List<CustomerEventDate> findUnnotifiedEventDatesBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+    
+    /**
+     * Estimated event date of a single customer, used to reschedule its retirement notification.
+     */
+    @Transactional
+    @Query("SELECT c.id AS id, c.estimatedEventDate AS estimatedEventDate, "
+            + "c.retirementNotifiedFor AS retirementNotifiedFor FROM Customer c WHERE c.id = :id")
+    Optional<CustomerEventDate> findEventDateById(@Param("id") Long id);
+    
+    /**
+     * Records that the retirement notification for the given event date is being sent.
+     * Matches only if the customer still has that event date and was not notified for it,
+     * so a deleted or rescheduled customer, or one another instance already notified, is skipped.
+     * Leaves the version and update date alone, the customer's data does not change.
+     * 
+     * @return 1 if the notification should be sent, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Customer c SET c.retirementNotifiedFor = :eventDate WHERE c.id = :id "
+            + "AND c.estimatedEventDate = :eventDate "
+            + "AND (c.retirementNotifiedFor IS NULL OR c.retirementNotifiedFor <> :eventDate)")
+    int markRetirementNotified(@Param("id") Long id, @Param("eventDate") LocalDate eventDate);
+    
+    /**
+     * Fingerprint sources of the customers with an ID greater than the given one, in ID order,
+     * used to build the duplicate fingerprint index in batches.
+     */
+    @Transactional
+    @Query("SELECT c.id AS id, c.firstName AS firstName, c.lastName AS lastName, c.birthDate AS birthDate, "
+            + "c.fingerprint AS fingerprint FROM Customer c WHERE c.id > :afterId ORDER BY c.id")
+    List<CustomerIdentity> findIdentitiesAfter(@Param("afterId") Long afterId, Limit limit);
+    
+    /**
+     * Fingerprint sources of a single customer, used to refresh its duplicate index entry.
+     */
+    @Transactional
+    @Query("SELECT c.id AS id, c.firstName AS firstName, c.lastName AS lastName, c.birthDate AS birthDate, "
+            + "c.fingerprint AS fingerprint FROM Customer c WHERE c.id = :id")
+    Optional<CustomerIdentity> findIdentityById(@Param("id") Long id);
+    
+    /**
+     * IDs of the customers with an ID greater than the given one, in ID order,
+     * used to build the existing ID filter in batches.
+     */
+    @Transactional
+    @Query("SELECT c.id FROM Customer c WHERE c.id > :afterId ORDER BY c.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+    
+    /**
+     * Stores the fingerprint of a customer created before fingerprints existed.
+     * Leaves the version and update date alone, the customer's data does not change.
+     * 
+     * @return 1 if the fingerprint was stored, 0 if the customer already had one
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Customer c SET c.fingerprint = :fingerprint WHERE c.id = :id AND c.fingerprint IS NULL")
+    int backfillFingerprint(@Param("id") Long id, @Param("fingerprint") String fingerprint);
+    
+    /**
+     * Version and last modification time of a single customer, used to answer conditional
+     * GETs without loading the entity.
+     */
+    @Query("SELECT c.id AS id, c.version AS version, c.updateDate AS updateDate FROM Customer c WHERE c.id = :id")
+    Optional<CustomerRevision> findRevisionById(@Param("id") Long id);
+}
@@ -0,0 +1,15 @@
+package customer_management_service.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection with the fields that identify a version of a customer.
+ */
+public interface CustomerRevision {
+
+    Long getId();
+
+    Long getVersion();
+
+    LocalDateTime getUpdateDate();
+}
@@ -0,0 +1,107 @@
+package customer_management_service.repository;
+
+import customer_management_service.model.Customer;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Filter criteria for customer listings. Each criterion maps to a sargable predicate on a
+ * column covered by one of the composite indexes of the {@code customers} table, so any
+ * combination runs as a single indexed query. Criteria given a null value match everything.
+ */
+public final class CustomerSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private CustomerSpecifications() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * @param min minimum age, inclusive
+     */
+    public static Specification<Customer> ageAtLeast(Integer min) {
+        return (root, query, builder) -> min == null ? null
+                : builder.greaterThanOrEqualTo(root.<Integer>get("age"), min);
+    }
+
+    /**
+     * @param max maximum age, inclusive
+     */
+    public static Specification<Customer> ageAtMost(Integer max) {
+        return (root, query, builder) -> max == null ? null
+                : builder.lessThanOrEqualTo(root.<Integer>get("age"), max);
+    }
+
+    /**
+     * @param date exclusive lower bound of the birth date
+     */
+    public static Specification<Customer> bornAfter(LocalDate date) {
+        return (root, query, builder) -> date == null ? null
+                : builder.greaterThan(root.<LocalDate>get("birthDate"), date);
+    }
+
+    /**
+     * @param date exclusive upper bound of the birth date
+     */
+    public static Specification<Customer> bornBefore(LocalDate date) {
+        return (root, query, builder) -> date == null ? null
+                : builder.lessThan(root.<LocalDate>get("birthDate"), date);
+    }
+
+    /**
+     * @param date exclusive upper bound of the estimated retirement date
+     */
+    public static Specification<Customer> retiringBefore(LocalDate date) {
+        return (root, query, builder) -> date == null ? null
+                : builder.lessThan(root.<LocalDate>get("estimatedEventDate"), date);
+    }
+
+    /**
+     * Case-insensitive last name prefix, served on PostgreSQL by the
+     * {@code lower(last_name) text_pattern_ops} index.
+     *
+     * @param prefix last name prefix
+     */
+    public static Specification<Customer> lastNameStartsWith(String prefix) {
+        return (root, query, builder) -> prefix == null || prefix.isBlank() ? null
+                : builder.like(builder.lower(root.<String>get("lastName")),
+                        escapeLike(prefix.trim().toLowerCase(Locale.ROOT)) + '%', LIKE_ESCAPE);
+    }
+
+    /**
+     * Keyset position: customers that sort strictly after the given (value, id) pair
+     * in the (attribute, id) ordering.
+     *
+     * @param attribute sort attribute
+     * @param value sort attribute value of the last customer already returned
+     * @param id ID of the last customer already returned
+     * @param descending whether the ordering is descending
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static Specification<Customer> after(String attribute, Comparable value, Long id, boolean descending) {
+        return (root, query, builder) -> {
+            if (descending) {
+                return builder.or(
+                    builder.lessThan(root.<Comparable>get(attribute), value),
+                    builder.and(builder.equal(root.<Comparable>get(attribute), value), builder.lessThan(root.<Long>get("id"), id)));
+            }
+            return builder.or(
+                builder.greaterThan(root.<Comparable>get(attribute), value),
+                builder.and(builder.equal(root.<Comparable>get(attribute), value), builder.greaterThan(root.<Long>get("id"), id)));
+        };
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,72 @@
+package customer_management_service.repository;
+
+import customer_management_service.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Every method runs in its own read-write transaction: the key is polled while another
+ * instance holds it, which a lagging read replica would not see.
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Acquires a key. Fails with a constraint violation if another request already holds it,
+     * which a merge through {@code save} would not.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, request_hash, created_at, expires_at) "
+            + "VALUES (:key, :requestHash, :createdAt, :expiresAt)", nativeQuery = true)
+    int insertPending(@Param("key") String key,
+                      @Param("requestHash") String requestHash,
+                      @Param("createdAt") LocalDateTime createdAt,
+                      @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Transactional
+    @Query("SELECT r FROM IdempotencyRecord r WHERE r.idempotencyKey = :key")
+    Optional<IdempotencyRecord> findCurrent(@Param("key") String key);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = :status, r.contentType = :contentType, "
+            + "r.entityTag = :entityTag, r.lastModified = :lastModified, r.body = :body, r.expiresAt = :expiresAt "
+            + "WHERE r.idempotencyKey = :key AND r.status IS NULL")
+    int complete(@Param("key") String key,
+                 @Param("status") int status,
+                 @Param("contentType") String contentType,
+                 @Param("entityTag") String entityTag,
+                 @Param("lastModified") String lastModified,
+                 @Param("body") byte[] body,
+                 @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :key AND r.status IS NULL")
+    int deletePending(@Param("key") String key);
+
+    /**
+     * Deletes a key whose response expired or whose request was abandoned by an instance
+     * that stopped before completing it.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :key "
+            + "AND (r.expiresAt < :now OR (r.status IS NULL AND r.createdAt < :abandonedBefore))")
+    int deleteStale(@Param("key") String key,
+                    @Param("now") LocalDateTime now,
+                    @Param("abandonedBefore") LocalDateTime abandonedBefore);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,25 @@
+package customer_management_service.service;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read whose concurrent identical calls share one execution: while a call is in
+ * flight, calls with equal arguments wait for it and get its result or exception instead
+ * of running the same queries again. Applied by {@link ReadCoalescingAspect} in front of the
+ * cache and transaction advice, so waiting calls hold no database connection.
+ * Only for side-effect-free methods whose arguments implement {@code equals}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+
+    /**
+     * @return name of the operation in the {@code customer.reads.coalesced} metric
+     */
+    String value();
+}
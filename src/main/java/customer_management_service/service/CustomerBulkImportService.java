@@ -0,0 +1,175 @@
+package customer_management_service.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import customer_management_service.dto.BulkCustomerResponseDTO;
+import customer_management_service.dto.BulkCustomerResultDTO;
+import customer_management_service.dto.CustomerCreateDTO;
+import customer_management_service.dto.CustomerDTO;
+import customer_management_service.exception.DataConflictException;
+import customer_management_service.exception.InvalidDataException;
+import customer_management_service.validation.CustomerFingerprint;
+import customer_management_service.validation.ValidationConstants;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service responsible for bulk customer ingestion.
+ * Reads a JSON array or an NDJSON stream row by row, validates each row as it arrives
+ * and persists the valid ones in chunks, each chunk in its own transaction so that
+ * Hibernate can batch the inserts and memory stays bounded by the chunk size.
+ * Exact duplicates, of an existing customer or of an earlier row of the chunk, are rejected
+ * row by row before persisting so they do not fail the whole chunk. A chunk that still fails,
+ * for instance on a duplicate inserted concurrently, is retried row by row so that only the
+ * offending rows are rejected.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerBulkImportService {
+
+    private static final String VALIDATION_ERROR_KEY = "validation";
+    private static final String CHUNK_FAILED_MESSAGE = "Customer could not be persisted, retry the row";
+
+    private final CustomerService customerService;
+    private final CustomerFingerprintIndex customerFingerprintIndex;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${customer.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Imports every customer in the given body.
+     * A malformed row stops the import: the rows before it are still processed and the
+     * malformed row is reported as rejected.
+     *
+     * @param body JSON array or newline-delimited JSON objects of {@link CustomerCreateDTO}
+     * @return summary and per-row results
+     */
+    public BulkCustomerResponseDTO importCustomers(InputStream body) {
+        List<BulkCustomerResultDTO> results = new ArrayList<>();
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        Set<String> chunkFingerprints = new HashSet<>(chunkSize * 2);
+        int index = 0;
+
+        try (MappingIterator<CustomerCreateDTO> rows = objectMapper.readerFor(CustomerCreateDTO.class).readValues(body)) {
+            while (rows.hasNextValue()) {
+                CustomerCreateDTO row = rows.nextValue();
+                Map<String, String> errors = validate(row);
+                if (errors.isEmpty() && !isNewCustomer(row, chunkFingerprints)) {
+                    errors = Map.of(VALIDATION_ERROR_KEY, ValidationConstants.DUPLICATE_CUSTOMER);
+                }
+                if (errors.isEmpty()) {
+                    chunk.add(new PendingRow(index, row));
+                    if (chunk.size() == chunkSize) {
+                        persistChunk(chunk, results);
+                        chunkFingerprints.clear();
+                    }
+                } else {
+                    results.add(BulkCustomerResultDTO.rejected(index, errors));
+                }
+                index++;
+            }
+        } catch (IOException e) {
+            log.warn("Bulk import stopped at malformed row {}: {}", index, e.getMessage());
+            results.add(BulkCustomerResultDTO.rejected(index, Map.of(VALIDATION_ERROR_KEY, "Malformed customer data")));
+            index++;
+        }
+        persistChunk(chunk, results);
+
+        results.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        int created = (int) results.stream()
+            .filter(result -> result.getStatus() == BulkCustomerResultDTO.Status.CREATED)
+            .count();
+        return new BulkCustomerResponseDTO(index, created, results.size() - created, results);
+    }
+
+    /**
+     * Runs Bean Validation on a row, collecting the messages by field name.
+     *
+     * @param row the row to validate
+     * @return validation errors, empty when the row is valid
+     */
+    private Map<String, String> validate(CustomerCreateDTO row) {
+        if (row == null) {
+            return Map.of(VALIDATION_ERROR_KEY, "Customer data cannot be null");
+        }
+        Set<ConstraintViolation<CustomerCreateDTO>> violations = validator.validate(row);
+        Map<String, String> errors = new HashMap<>();
+        for (ConstraintViolation<CustomerCreateDTO> violation : violations) {
+            String field = violation.getPropertyPath().toString();
+            errors.put(field.isEmpty() ? VALIDATION_ERROR_KEY : field, violation.getMessage());
+        }
+        return errors;
+    }
+
+    /**
+     * Checks a valid row against the committed customers and the rows already in the chunk.
+     * Rows of earlier chunks are in the fingerprint index once their chunk has committed.
+     *
+     * @param row the row to check
+     * @param chunkFingerprints fingerprints of the rows in the current chunk, the row's is added
+     * @return whether the row is not a duplicate
+     */
+    private boolean isNewCustomer(CustomerCreateDTO row, Set<String> chunkFingerprints) {
+        String fingerprint = CustomerFingerprint.of(row.getFirstName(), row.getLastName(), row.getBirthDate());
+        return !customerFingerprintIndex.contains(fingerprint) && chunkFingerprints.add(fingerprint);
+    }
+
+    /**
+     * Persists the pending rows in a single transaction and clears the chunk.
+     * If the chunk fails, its rows are persisted one by one instead.
+     *
+     * @param chunk rows waiting to be persisted
+     * @param results collector for the per-row results
+     */
+    private void persistChunk(List<PendingRow> chunk, List<BulkCustomerResultDTO> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            List<CustomerDTO> created = customerService.createCustomers(chunk.stream().map(PendingRow::row).toList());
+            for (int i = 0; i < chunk.size(); i++) {
+                results.add(BulkCustomerResultDTO.created(chunk.get(i).index(), created.get(i).getId()));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Bulk import chunk of {} rows failed, retrying row by row: {}", chunk.size(), e.getMessage());
+            chunk.forEach(pending -> results.add(persistRow(pending)));
+        }
+        chunk.clear();
+    }
+
+    /**
+     * Persists a single row in its own transaction.
+     *
+     * @param pending row of a failed chunk
+     * @return the row's result, rejected with the cause when it is a duplicate or invalid
+     */
+    private BulkCustomerResultDTO persistRow(PendingRow pending) {
+        try {
+            return BulkCustomerResultDTO.created(pending.index(), customerService.createCustomer(pending.row()).getId());
+        } catch (DataConflictException | InvalidDataException e) {
+            return BulkCustomerResultDTO.rejected(pending.index(), Map.of(VALIDATION_ERROR_KEY, e.getMessage()));
+        } catch (RuntimeException e) {
+            log.warn("Bulk import row {} failed: {}", pending.index(), e.getMessage());
+            return BulkCustomerResultDTO.rejected(pending.index(), Map.of(VALIDATION_ERROR_KEY, CHUNK_FAILED_MESSAGE));
+        }
+    }
+
+    private record PendingRow(int index, CustomerCreateDTO row) {
+    }
+}
@@ -0,0 +1,70 @@
+package customer_management_service.service;
+
+import customer_management_service.config.CacheConfig;
+import customer_management_service.event.CustomerChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Evicts cached customers once an update or delete has been committed.
+ * Evicting after commit keeps reads that start after the eviction from caching the old row,
+ * but a read that loaded the row before the commit can still cache it once the entry is gone,
+ * and conditional GETs would then be answered from that stale version. Every customer is
+ * therefore evicted a second time after {@code customer.cache.re-evict-delay-ms}, which drops
+ * such an entry; only a read slower than that delay can leave one behind until the cache TTL.
+ */
+@Component
+@Slf4j
+public class CustomerCacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final TaskScheduler taskScheduler;
+    private final Duration reEvictDelay;
+
+    public CustomerCacheInvalidator(CacheManager cacheManager,
+                                    TaskScheduler taskScheduler,
+                                    @Value("${customer.cache.re-evict-delay-ms:1000}") long reEvictDelayMs) {
+        this.cacheManager = cacheManager;
+        this.taskScheduler = taskScheduler;
+        this.reEvictDelay = Duration.ofMillis(reEvictDelayMs);
+    }
+
+    /**
+     * Evicts the changed customer from the cache.
+     *
+     * @param event the committed customer change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        if (event.type() == CustomerChangedEvent.ChangeType.CREATED) {
+            return;
+        }
+        evict(event.customerId());
+    }
+
+    /**
+     * Evicts a customer from the local cache now and again after the re-evict delay.
+     *
+     * @param customerId ID of the customer to evict
+     */
+    public void evict(Long customerId) {
+        evictNow(customerId);
+        taskScheduler.schedule(() -> evictNow(customerId), Instant.now().plus(reEvictDelay));
+    }
+
+    private void evictNow(Long customerId) {
+        Cache cache = cacheManager.getCache(CacheConfig.CUSTOMERS_CACHE);
+        if (cache != null) {
+            cache.evict(customerId);
+            log.debug("Evicted customer {} from cache", customerId);
+        }
+    }
+}
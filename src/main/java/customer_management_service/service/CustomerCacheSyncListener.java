@@ -0,0 +1,76 @@
+package customer_management_service.service;
+
+import customer_management_service.config.NodeIdentity;
+import customer_management_service.config.RabbitMQConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the local caches consistent with customer writes made on other instances.
+ * Consumes the customer events through this instance's exclusive cache-sync queue, evicts
+ * the affected customer, refreshes its name search and fingerprint entries, ID filter and retirement notification (when
+ * the notifier runs on this instance) and schedules a statistics refresh. Events produced by
+ * this instance are skipped, since they were already applied after commit.
+ * Events missed while disconnected from the broker are covered by the cache TTL and the
+ * periodic statistics reconciliation.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerCacheSyncListener {
+
+    private static final String CUSTOMER_CREATED_KEY = "customer.created";
+    private static final String CUSTOMER_DELETED_KEY = "customer.deleted";
+
+    private final NodeIdentity nodeIdentity;
+    private final CustomerCacheInvalidator customerCacheInvalidator;
+    private final CustomerStatsAggregator customerStatsAggregator;
+    private final CustomerNameIndex customerNameIndex;
+    private final CustomerFingerprintIndex customerFingerprintIndex;
+    private final CustomerIdFilter customerIdFilter;
+    private final ObjectProvider<CustomerRetirementNotifier> customerRetirementNotifier;
+
+    /**
+     * Applies a customer event received from the exchange.
+     *
+     * @param message the raw event; only its headers and routing key are used
+     */
+    @RabbitListener(
+        queues = "#{customerCacheSyncQueue.name}",
+        autoStartup = "${customer.cache.sync.enabled:true}"
+    )
+    public void onCustomerEvent(Message message) {
+        MessageProperties properties = message.getMessageProperties();
+        String origin = properties.getHeader(RabbitMQConfig.ORIGIN_NODE_HEADER);
+        if (nodeIdentity.getId().equals(origin)) {
+            return;
+        }
+
+        String routingKey = properties.getReceivedRoutingKey();
+        Object customerId = properties.getHeader(RabbitMQConfig.CUSTOMER_ID_HEADER);
+        if (customerId instanceof Number id) {
+            if (!CUSTOMER_CREATED_KEY.equals(routingKey)) {
+                customerCacheInvalidator.evict(id.longValue());
+            }
+            if (CUSTOMER_DELETED_KEY.equals(routingKey)) {
+                customerNameIndex.remove(id.longValue());
+                customerFingerprintIndex.remove(id.longValue());
+            } else {
+                customerNameIndex.refresh(id.longValue());
+                customerFingerprintIndex.refresh(id.longValue());
+                customerIdFilter.put(id.longValue());
+            }
+            CustomerRetirementNotifier notifier = customerRetirementNotifier.getIfAvailable();
+            if (notifier != null) {
+                notifier.refresh(id.longValue());
+            }
+        }
+        customerStatsAggregator.requestRefresh();
+        log.debug("Applied {} for customer {} from node {}", routingKey, customerId, origin);
+    }
+}
@@ -0,0 +1,70 @@
+package customer_management_service.service;
+
+import customer_management_service.exception.InvalidDataException;
+import customer_management_service.dto.CustomerDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of a customer in a keyset ordering: the value of the sort field plus the ID tie-breaker.
+ * Cursors of the default (creationDate DESC, id DESC) ordering keep their original
+ * {@code value|id} form; other orderings are prefixed with the sort they belong to.
+ * Clients only ever see the encoded, opaque form of the cursor.
+ */
+record CustomerCursor(CustomerSort sort, Comparable<?> value, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Builds the cursor pointing right after the given customer.
+     *
+     * @param sort ordering of the current page
+     * @param customer last customer of the current page
+     * @return cursor for the next page
+     */
+    static CustomerCursor after(CustomerSort sort, CustomerDTO customer) {
+        return new CustomerCursor(sort, sort.field().valueOf(customer), customer.getId());
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @param token opaque cursor token
+     * @return decoded cursor
+     * @throws InvalidDataException if the token is malformed
+     */
+    static CustomerCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARATOR);
+            int last = raw.lastIndexOf(SEPARATOR);
+            if (first < 0) {
+                throw new InvalidDataException("Invalid cursor: " + token);
+            }
+            CustomerSort sort = first == last ? CustomerSort.DEFAULT : CustomerSort.parse(raw.substring(0, first));
+            int valueStart = first == last ? 0 : first + 1;
+            return new CustomerCursor(
+                sort,
+                sort.field().parse(raw.substring(valueStart, last)),
+                Long.parseLong(raw.substring(last + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidDataException("Invalid cursor: " + token, e);
+        }
+    }
+
+    /**
+     * Encodes the cursor as an opaque URL-safe token.
+     *
+     * @return encoded cursor
+     */
+    String encode() {
+        String raw = value.toString() + SEPARATOR + id;
+        if (!sort.equals(CustomerSort.DEFAULT)) {
+            raw = sort.format() + SEPARATOR + raw;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,96 @@
+package customer_management_service.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.cfg.MapperBuilder;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Encodes the customer event messages for the outbox in the configured content type:
+ * JSON, Smile or CBOR. Writers are resolved once per message type and reused, and
+ * Jackson recycles its output buffers between calls, so encoding an event costs a single
+ * pass over the message and one copy into the outbox payload.
+ */
+@Component
+public class CustomerEventCodec {
+
+    /**
+     * Supported encodings, selected by content type.
+     */
+    public enum Encoding {
+        JSON("application/json"),
+        SMILE("application/x-jackson-smile"),
+        CBOR("application/cbor");
+
+        private final String contentType;
+
+        Encoding(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public static Encoding fromContentType(String contentType) {
+            for (Encoding encoding : values()) {
+                if (encoding.contentType.equalsIgnoreCase(contentType.trim())) {
+                    return encoding;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported customer event content type: " + contentType);
+        }
+    }
+
+    private final Encoding encoding;
+    private final ObjectMapper mapper;
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public CustomerEventCodec(@Value("${customer.events.content-type:application/json}") String contentType) {
+        this.encoding = Encoding.fromContentType(contentType);
+        this.mapper = configure(switch (encoding) {
+            case JSON -> JsonMapper.builder();
+            case SMILE -> SmileMapper.builder();
+            case CBOR -> CBORMapper.builder();
+        });
+    }
+
+    /**
+     * @param message event message
+     * @return the encoded message
+     */
+    public byte[] encode(Object message) {
+        ObjectWriter writer = writers.computeIfAbsent(message.getClass(), mapper::writerFor);
+        try {
+            return writer.writeValueAsBytes(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode " + message.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * @return content type of the encoded messages
+     */
+    public String getContentType() {
+        return encoding.getContentType();
+    }
+
+    private static ObjectMapper configure(MapperBuilder<?, ?> builder) {
+        return builder
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .build();
+    }
+}
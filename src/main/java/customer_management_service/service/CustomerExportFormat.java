@@ -0,0 +1,43 @@
+package customer_management_service.service;
+
+import customer_management_service.exception.InvalidDataException;
+
+import java.util.Locale;
+
+/**
+ * Output formats of the customer export.
+ */
+public enum CustomerExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    CustomerExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * @param value format name, case-insensitive
+     * @return the matching format
+     * @throws InvalidDataException if the format is not supported
+     */
+    public static CustomerExportFormat parse(String value) {
+        for (CustomerExportFormat format : values()) {
+            if (format.extension.equals(value.trim().toLowerCase(Locale.ROOT))) {
+                return format;
+            }
+        }
+        throw new InvalidDataException("Unsupported export format: " + value);
+    }
+}
@@ -0,0 +1,231 @@
+package customer_management_service.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import customer_management_service.dto.CustomerDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service responsible for exporting the whole customers table.
+ * Rows are read through a forward-only JDBC cursor and written to the output stream as they
+ * arrive, so memory stays bounded by the fetch size whatever the table size. The query runs
+ * in a read-only transaction because the PostgreSQL driver only honours the fetch size
+ * (instead of buffering the whole result) when auto-commit is off.
+ * Each export is measured by the {@code customer.export} timer, the {@code customer.export.rows}
+ * counter and the {@code customer.export.throughput} summary (rows per second), tagged by format.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerExportService {
+
+    private static final String EXPORT_QUERY = "SELECT id, first_name, last_name, age, birth_date, "
+            + "estimated_event_date, creation_date, update_date, version FROM customers ORDER BY id";
+    private static final String CSV_HEADER =
+            "id,firstName,lastName,age,birthDate,estimatedEventDate,creationDate,updateDate,version";
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${customer.export.fetch-size:1000}")
+    private int fetchSize;
+
+    /**
+     * Writes every customer, in ID order, to the given stream. The stream is flushed but not closed.
+     *
+     * @param format output format
+     * @param out destination stream
+     * @return number of exported customers
+     * @throws IOException if writing to the stream fails
+     */
+    @Transactional(readOnly = true)
+    public long export(CustomerExportFormat format, OutputStream out) throws IOException {
+        String formatTag = format.getExtension();
+        long start = System.nanoTime();
+        RowWriter writer = format == CustomerExportFormat.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+        long[] rows = {0};
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    EXPORT_QUERY, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                return statement;
+            }, resultSet -> {
+                try {
+                    writer.write(toDTO(resultSet));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            });
+            writer.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            recordExport(formatTag, rows[0], System.nanoTime() - start);
+        }
+        return rows[0];
+    }
+
+    private void recordExport(String format, long rows, long elapsedNanos) {
+        Timer.builder("customer.export")
+            .description("Full customer exports")
+            .tag("format", format)
+            .register(meterRegistry)
+            .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        Counter.builder("customer.export.rows")
+            .description("Customers written by exports")
+            .tag("format", format)
+            .register(meterRegistry)
+            .increment(rows);
+        DistributionSummary.builder("customer.export.throughput")
+            .description("Rows per second of each export")
+            .baseUnit("rows/s")
+            .tag("format", format)
+            .register(meterRegistry)
+            .record(rows / Math.max(elapsedNanos / 1e9, 1e-9));
+        log.info("Exported {} customers as {} in {} ms", rows, format, elapsedNanos / 1_000_000);
+    }
+
+    private CustomerDTO toDTO(ResultSet resultSet) throws SQLException {
+        Date birthDate = resultSet.getDate("birth_date");
+        Date estimatedEventDate = resultSet.getDate("estimated_event_date");
+        Timestamp creationDate = resultSet.getTimestamp("creation_date");
+        Timestamp updateDate = resultSet.getTimestamp("update_date");
+        return new CustomerDTO(
+            resultSet.getLong("id"),
+            resultSet.getString("first_name"),
+            resultSet.getString("last_name"),
+            resultSet.getInt("age"),
+            birthDate == null ? null : birthDate.toLocalDate(),
+            estimatedEventDate == null ? null : estimatedEventDate.toLocalDate(),
+            creationDate == null ? null : creationDate.toLocalDateTime(),
+            updateDate == null ? null : updateDate.toLocalDateTime(),
+            resultSet.getLong("version")
+        );
+    }
+
+    private interface RowWriter {
+
+        void write(CustomerDTO row) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    /**
+     * RFC 4180 CSV with a header row.
+     */
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+            writer.write(CSV_HEADER);
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(CustomerDTO row) throws IOException {
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writeText(row.getFirstName());
+            writer.write(',');
+            writeText(row.getLastName());
+            writer.write(',');
+            writeValue(row.getAge());
+            writer.write(',');
+            writeValue(row.getBirthDate());
+            writer.write(',');
+            writeValue(row.getEstimatedEventDate());
+            writer.write(',');
+            writeValue(row.getCreationDate());
+            writer.write(',');
+            writeValue(row.getUpdateDate());
+            writer.write(',');
+            writeValue(row.getVersion());
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        private void writeValue(Object value) throws IOException {
+            if (value != null) {
+                writer.write(value.toString());
+            }
+        }
+
+        private void writeText(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    /**
+     * One {@link CustomerDTO} JSON object per line.
+     */
+    private final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+        private final ObjectWriter rowWriter;
+
+        NdjsonRowWriter(OutputStream out) throws IOException {
+            // Rows are separated by the newline alone, not by the default root value separator " "
+            this.generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null);
+            // Flushing after every row would defeat the generator buffer
+            this.rowWriter = objectMapper.writerFor(CustomerDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+
+        @Override
+        public void write(CustomerDTO row) throws IOException {
+            rowWriter.writeValue(generator, row);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package customer_management_service.service;
+
+import customer_management_service.event.CustomerChangedEvent;
+import customer_management_service.event.CustomerSnapshot;
+import customer_management_service.repository.CustomerIdentity;
+import customer_management_service.repository.CustomerRepository;
+import customer_management_service.validation.CustomerFingerprint;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory set of the {@link CustomerFingerprint}s of all customers, so that creating an
+ * exact duplicate is rejected without a database round trip. The set is built at startup
+ * and updated after every committed create, update or delete; it is a fast pre-check only,
+ * the unique constraint on the fingerprint column still rejects duplicates that race
+ * past it. While building, fingerprints missing from the database are backfilled.
+ */
+@Component
+@Slf4j
+public class CustomerFingerprintIndex {
+
+    private static final int BUILD_BATCH_SIZE = 1000;
+
+    private final CustomerRepository customerRepository;
+    private final Set<String> fingerprints = ConcurrentHashMap.newKeySet();
+    private final Map<Long, String> byId = new ConcurrentHashMap<>();
+
+    public CustomerFingerprintIndex(CustomerRepository customerRepository, MeterRegistry meterRegistry) {
+        this.customerRepository = customerRepository;
+        Gauge.builder("customer.fingerprint.index.customers", byId, Map::size)
+            .description("Customers in the duplicate fingerprint index")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Loads every customer fingerprint once the application is ready, storing the ones the
+     * database does not have yet.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.nanoTime();
+        int backfilled = 0;
+        long afterId = 0;
+        List<CustomerIdentity> batch;
+        do {
+            batch = customerRepository.findIdentitiesAfter(afterId, Limit.of(BUILD_BATCH_SIZE));
+            for (CustomerIdentity identity : batch) {
+                String fingerprint = CustomerFingerprint.of(
+                    identity.getFirstName(), identity.getLastName(), identity.getBirthDate());
+                if (identity.getFingerprint() == null && backfill(identity.getId(), fingerprint)) {
+                    backfilled++;
+                }
+                put(identity.getId(), fingerprint);
+                afterId = identity.getId();
+            }
+        } while (batch.size() == BUILD_BATCH_SIZE);
+        log.info("Customer fingerprint index built with {} customers ({} backfilled) in {} ms",
+            byId.size(), backfilled, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Applies a committed customer change to the index.
+     *
+     * @param event the customer change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        if (event.type() == CustomerChangedEvent.ChangeType.DELETED) {
+            remove(event.customerId());
+            return;
+        }
+        List<String> changed = event.changedFields();
+        if (event.type() == CustomerChangedEvent.ChangeType.CREATED
+                || changed.contains(CustomerSnapshot.FIRST_NAME)
+                || changed.contains(CustomerSnapshot.LAST_NAME)
+                || changed.contains(CustomerSnapshot.BIRTH_DATE)) {
+            CustomerSnapshot after = event.after();
+            put(after.id(), CustomerFingerprint.of(after.firstName(), after.lastName(), after.birthDate()));
+        }
+    }
+
+    /**
+     * Reloads one customer from the database, used for changes made by other instances.
+     *
+     * @param id customer ID
+     */
+    public void refresh(Long id) {
+        customerRepository.findIdentityById(id).ifPresentOrElse(
+            identity -> put(id, CustomerFingerprint.of(
+                identity.getFirstName(), identity.getLastName(), identity.getBirthDate())),
+            () -> remove(id));
+    }
+
+    /**
+     * Sets the fingerprint of a customer, replacing its previous one.
+     *
+     * @param id customer ID
+     * @param fingerprint current fingerprint
+     */
+    public void put(Long id, String fingerprint) {
+        byId.compute(id, (key, previous) -> {
+            if (previous != null) {
+                fingerprints.remove(previous);
+            }
+            fingerprints.add(fingerprint);
+            return fingerprint;
+        });
+    }
+
+    /**
+     * Removes a customer from the index.
+     *
+     * @param id customer ID
+     */
+    public void remove(Long id) {
+        byId.computeIfPresent(id, (key, previous) -> {
+            fingerprints.remove(previous);
+            return null;
+        });
+    }
+
+    /**
+     * @param fingerprint fingerprint of a customer about to be written
+     * @return whether a committed customer already has it
+     */
+    public boolean contains(String fingerprint) {
+        return fingerprints.contains(fingerprint);
+    }
+
+    /**
+     * @return number of indexed customers
+     */
+    public int size() {
+        return byId.size();
+    }
+
+    private boolean backfill(Long id, String fingerprint) {
+        try {
+            return customerRepository.backfillFingerprint(id, fingerprint) > 0;
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Customer {} duplicates another customer created before fingerprints, left without one", id);
+            return false;
+        }
+    }
+}
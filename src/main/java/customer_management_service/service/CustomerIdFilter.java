@@ -0,0 +1,178 @@
+package customer_management_service.service;
+
+import customer_management_service.event.CustomerChangedEvent;
+import customer_management_service.repository.CustomerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Bloom filter of the IDs of all customers, so that the version lookup of a conditional GET
+ * is skipped for IDs that do not exist. The filter is built at startup and gets the ID of
+ * every committed create, locally or, through {@link CustomerCacheSyncListener}, on another
+ * instance. A create on another instance is only known once its event arrives, so the filter
+ * may miss an existing customer: it must only be used to skip work that the database is
+ * asked for anyway, and customers found there are added through {@link #confirm(Long)}.
+ * Deleted IDs stay in it as false positives until the periodic rebuild. Until the first
+ * build completes every ID might exist.
+ */
+@Component
+@Slf4j
+public class CustomerIdFilter {
+
+    private static final int BUILD_BATCH_SIZE = 10_000;
+
+    private final CustomerRepository customerRepository;
+    private final boolean enabled;
+    private final int expectedCustomers;
+    private final double falsePositiveRate;
+    private final Counter savedLookups;
+    private final Counter missedCustomers;
+
+    private volatile ScalableBloomFilter current;
+    private volatile ScalableBloomFilter building;
+
+    public CustomerIdFilter(CustomerRepository customerRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${customer.id-filter.enabled:true}") boolean enabled,
+                            @Value("${customer.id-filter.expected-customers:100000}") int expectedCustomers,
+                            @Value("${customer.id-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.customerRepository = customerRepository;
+        this.enabled = enabled;
+        this.expectedCustomers = expectedCustomers;
+        this.falsePositiveRate = falsePositiveRate;
+        this.savedLookups = Counter.builder("customer.id.filter.saved")
+            .description("Version lookups of missing customers answered by the ID filter without a database query")
+            .register(meterRegistry);
+        this.missedCustomers = Counter.builder("customer.id.filter.missed")
+            .description("Existing customers the ID filter did not know yet, found in the database")
+            .register(meterRegistry);
+        Gauge.builder("customer.id.filter.customers", this, filter -> filter.sizeOf(filter.current))
+            .description("Customer IDs in the ID filter")
+            .register(meterRegistry);
+        Gauge.builder("customer.id.filter.memory", this, filter -> filter.memoryOf(filter.current))
+            .description("Heap used by the bit arrays of the customer ID filter")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Loads every customer ID once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Replaces the filter with one built from the database, dropping the deleted IDs.
+     * Creates committed while it is built are added to both filters.
+     */
+    @Scheduled(
+        fixedDelayString = "${customer.id-filter.rebuild-interval-ms:3600000}",
+        initialDelayString = "${customer.id-filter.rebuild-interval-ms:3600000}"
+    )
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        ScalableBloomFilter fresh = new ScalableBloomFilter(expectedCustomers, falsePositiveRate);
+        building = fresh;
+        try {
+            long afterId = 0;
+            List<Long> batch;
+            do {
+                batch = customerRepository.findIdsAfter(afterId, Limit.of(BUILD_BATCH_SIZE));
+                for (Long id : batch) {
+                    fresh.put(id);
+                    afterId = id;
+                }
+            } while (batch.size() == BUILD_BATCH_SIZE);
+            current = fresh;
+        } finally {
+            building = null;
+        }
+        log.info("Customer ID filter built with {} customers in {} slices ({} bytes) in {} ms",
+            fresh.size(), fresh.sliceCount(), fresh.bitSetBytes(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Adds the IDs of committed creates.
+     *
+     * @param event the customer change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        if (event.type() == CustomerChangedEvent.ChangeType.CREATED) {
+            put(event.customerId());
+        }
+    }
+
+    /**
+     * Adds the ID of an existing customer.
+     *
+     * @param id customer ID
+     */
+    public void put(Long id) {
+        // Read the filter being built first: once it is cleared, it has already become current
+        ScalableBloomFilter next = building;
+        if (next != null) {
+            next.put(id);
+        }
+        ScalableBloomFilter filter = current;
+        if (filter != null && filter != next) {
+            filter.put(id);
+        }
+    }
+
+    /**
+     * Adds the ID of a customer found in the database that the filter does not know yet,
+     * whose create on another instance has not arrived.
+     *
+     * @param id customer ID
+     */
+    public void confirm(Long id) {
+        ScalableBloomFilter filter = current;
+        if (filter != null && !filter.mightContain(id)) {
+            put(id);
+            missedCustomers.increment();
+        }
+    }
+
+    /**
+     * Checks whether a customer might exist, counting the lookups it rules out.
+     * May also rule out a customer created on another instance moments ago.
+     *
+     * @param id customer ID
+     * @return false if the customer definitely does not exist
+     */
+    public boolean mightExist(Long id) {
+        ScalableBloomFilter filter = current;
+        if (filter == null || filter.mightContain(id)) {
+            return true;
+        }
+        savedLookups.increment();
+        return false;
+    }
+
+    private double sizeOf(ScalableBloomFilter filter) {
+        return filter != null ? filter.size() : 0;
+    }
+
+    private double memoryOf(ScalableBloomFilter filter) {
+        return filter != null ? filter.bitSetBytes() : 0;
+    }
+}
@@ -1,23 +1,45 @@
 package customer_management_service.service;
 
+import customer_management_service.config.NodeIdentity;
+import customer_management_service.event.CustomerCreatedMessage;
+import customer_management_service.event.CustomerDeletedMessage;
+import customer_management_service.event.CustomerRetirementApproachingMessage;
+import customer_management_service.event.CustomerSnapshot;
+import customer_management_service.event.CustomerUpdatedMessage;
 import customer_management_service.model.Customer;
+import customer_management_service.model.OutboxEvent;
+import customer_management_service.repository.OutboxEventRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
 /**
  * Service responsible for handling asynchronous messaging operations
  * related to customer events using RabbitMQ.
+ * Events are dedicated, schema-versioned messages encoded by {@link CustomerEventCodec}.
+ * They are written to the transactional outbox in the caller's transaction and
+ * relayed to the broker by {@link CustomerOutboxRelay}, so the write path never
+ * waits on RabbitMQ and an event is never lost when the broker is unavailable.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Transactional(propagation = Propagation.MANDATORY)
+@Timed(value = "customer.messaging.enqueue", description = "Customer events written to the outbox")
 public class CustomerMessagingService {
 
     private static final String CUSTOMER_EVENTS_EXCHANGE = "customer.events";
 
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxEventRepository outboxEventRepository;
+    private final CustomerEventCodec customerEventCodec;
+    private final NodeIdentity nodeIdentity;
 
     /**
      * Sends a customer created event message.
@@ -25,16 +47,18 @@ public class CustomerMessagingService {
      * @param customer the created customer
      */
     public void sendCustomerCreatedEvent(Customer customer) {
-        sendMessageSafely(CUSTOMER_EVENTS_EXCHANGE, "customer.created", customer);
+        enqueue(CUSTOMER_EVENTS_EXCHANGE, "customer.created", customer.getId(), CustomerCreatedMessage.of(customer));
     }
 
     /**
-     * Sends a customer updated event message.
+     * Sends a customer updated event message carrying only the changed fields.
      * 
+     * @param before the customer state before the update
      * @param customer the updated customer
      */
-    public void sendCustomerUpdatedEvent(Customer customer) {
-        sendMessageSafely(CUSTOMER_EVENTS_EXCHANGE, "customer.updated", customer);
+    public void sendCustomerUpdatedEvent(CustomerSnapshot before, Customer customer) {
+        enqueue(CUSTOMER_EVENTS_EXCHANGE, "customer.updated", customer.getId(),
+            CustomerUpdatedMessage.of(before, CustomerSnapshot.of(customer)));
     }
 
     /**
@@ -43,26 +67,41 @@ public class CustomerMessagingService {
      * @param customerId the ID of the deleted customer
      */
     public void sendCustomerDeletedEvent(Long customerId) {
-        sendMessageSafely(CUSTOMER_EVENTS_EXCHANGE, "customer.deleted", customerId);
+        enqueue(CUSTOMER_EVENTS_EXCHANGE, "customer.deleted", customerId, CustomerDeletedMessage.of(customerId));
     }
 
     /**
-     * Sends a message safely, handling RabbitMQ errors gracefully.
-     * This method ensures that messaging failures don't affect the main business logic.
+     * Sends a retirement approaching event message.
+     * 
+     * @param customerId the ID of the customer about to retire
+     * @param estimatedEventDate the estimated retirement date
+     */
+    public void sendRetirementApproachingEvent(Long customerId, LocalDate estimatedEventDate) {
+        enqueue(CUSTOMER_EVENTS_EXCHANGE, "customer.retirement.approaching", customerId,
+            CustomerRetirementApproachingMessage.of(customerId, estimatedEventDate));
+    }
+
+    /**
+     * Encodes the message with the configured codec and stores it in the outbox.
+     * The row commits or rolls back together with the customer change that produced it.
      * 
      * @param exchange destination exchange
      * @param routingKey routing key
-     * @param message message to send
+     * @param customerId ID of the customer the event refers to
+     * @param payload message to send
      */
-    private void sendMessageSafely(String exchange, String routingKey, Object message) {
-        try {
-            rabbitTemplate.convertAndSend(exchange, routingKey, message);
-            log.info("Message sent successfully to {} with routing key {}", exchange, routingKey);
-        } catch (Exception e) {
-            log.warn("Failed to send message to RabbitMQ: {}", e.getMessage());
-            // Note: We don't throw the exception to avoid affecting the main business logic
-            // In a production environment, you might want to implement retry logic or
-            // store failed messages for later processing
-        }
+    private void enqueue(String exchange, String routingKey, Long customerId, Object payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setExchange(exchange);
+        event.setRoutingKey(routingKey);
+        event.setAggregateId(customerId);
+        event.setOriginNode(nodeIdentity.getId());
+        event.setPayload(customerEventCodec.encode(payload));
+        event.setContentType(customerEventCodec.getContentType());
+        event.setPayloadType(payload.getClass().getName());
+        event.setCreatedAt(LocalDateTime.now(ZoneOffset.UTC));
+
+        outboxEventRepository.save(event);
+        log.debug("Queued {} event for customer {} in the outbox", routingKey, customerId);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,240 @@
+package customer_management_service.service;
+
+import customer_management_service.dto.CustomerSearchResultDTO;
+import customer_management_service.event.CustomerChangedEvent;
+import customer_management_service.event.CustomerSnapshot;
+import customer_management_service.repository.CustomerName;
+import customer_management_service.repository.CustomerRepository;
+import customer_management_service.validation.NameNormalizer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory prefix index over the normalized words of customer first and last names.
+ * Every word is stored in a sorted skip list under the key {@code word + '\0' + id}, so
+ * all customers with a word starting with a prefix form one contiguous range and a
+ * top-k lookup only walks the first k matching entries. The index is built at startup
+ * and updated after every committed create, update or delete.
+ * The estimated heap footprint is published as the {@code customer.search.index.memory} gauge.
+ */
+@Component
+@Slf4j
+public class CustomerNameIndex {
+
+    private static final char KEY_SEPARATOR = '\0';
+    private static final int BUILD_BATCH_SIZE = 1000;
+    /** Upper bound on entries walked per query, keeps multi-word queries on common prefixes bounded. */
+    private static final int MAX_SCANNED_ENTRIES = 10_000;
+    /** Rough per-object costs (headers, references, skip list nodes) used for the memory estimate. */
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+    private static final int NAME_OVERHEAD_BYTES = 160;
+
+    private final CustomerRepository customerRepository;
+    private final ConcurrentSkipListMap<String, IndexedName> entries = new ConcurrentSkipListMap<>();
+    private final Map<Long, IndexedName> byId = new ConcurrentHashMap<>();
+    private final AtomicLong estimatedBytes = new AtomicLong();
+
+    public CustomerNameIndex(CustomerRepository customerRepository, MeterRegistry meterRegistry) {
+        this.customerRepository = customerRepository;
+        Gauge.builder("customer.search.index.memory", estimatedBytes, AtomicLong::get)
+            .description("Estimated heap used by the customer name search index")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("customer.search.index.customers", byId, Map::size)
+            .description("Customers in the name search index")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Loads every customer name once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.nanoTime();
+        long afterId = 0;
+        List<CustomerName> batch;
+        do {
+            batch = customerRepository.findNamesAfter(afterId, Limit.of(BUILD_BATCH_SIZE));
+            for (CustomerName name : batch) {
+                upsert(name.getId(), name.getFirstName(), name.getLastName());
+                afterId = name.getId();
+            }
+        } while (batch.size() == BUILD_BATCH_SIZE);
+        log.info("Customer name index built with {} customers in {} ms",
+            byId.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Applies a committed customer change to the index.
+     *
+     * @param event the customer change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        if (event.type() == CustomerChangedEvent.ChangeType.DELETED) {
+            remove(event.customerId());
+            return;
+        }
+        List<String> changed = event.changedFields();
+        if (event.type() == CustomerChangedEvent.ChangeType.CREATED
+                || changed.contains(CustomerSnapshot.FIRST_NAME) || changed.contains(CustomerSnapshot.LAST_NAME)) {
+            CustomerSnapshot after = event.after();
+            upsert(after.id(), after.firstName(), after.lastName());
+        }
+    }
+
+    /**
+     * Reloads one customer from the database, used for changes made by other instances.
+     *
+     * @param id customer ID
+     */
+    public void refresh(Long id) {
+        customerRepository.findNameById(id).ifPresentOrElse(
+            name -> upsert(name.getId(), name.getFirstName(), name.getLastName()),
+            () -> remove(id));
+    }
+
+    /**
+     * Adds a customer to the index or replaces its previous names.
+     *
+     * @param id customer ID
+     * @param firstName first name as stored
+     * @param lastName last name as stored
+     */
+    public void upsert(Long id, String firstName, String lastName) {
+        IndexedName name = IndexedName.of(id, firstName, lastName);
+        byId.compute(id, (key, previous) -> {
+            if (previous != null) {
+                unlink(previous);
+            }
+            link(name);
+            return name;
+        });
+    }
+
+    /**
+     * Removes a customer from the index.
+     *
+     * @param id customer ID
+     */
+    public void remove(Long id) {
+        byId.computeIfPresent(id, (key, previous) -> {
+            unlink(previous);
+            return null;
+        });
+    }
+
+    /**
+     * Finds customers whose names contain a word starting with each word of the query.
+     * Results are ordered by the matched word, so exact matches come before longer words.
+     *
+     * @param query free text, normalized the same way as the indexed names
+     * @param limit maximum number of results
+     * @return up to {@code limit} matching customers
+     */
+    public List<CustomerSearchResultDTO> search(String query, int limit) {
+        List<String> terms = NameNormalizer.tokens(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        // Walk the range of the longest (most selective) term and filter on the others
+        String driver = terms.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+        NavigableMap<String, IndexedName> range = entries.subMap(driver, true, driver + Character.MAX_VALUE, false);
+
+        Set<IndexedName> matches = new LinkedHashSet<>();
+        int scanned = 0;
+        for (IndexedName name : range.values()) {
+            if (matches.size() == limit || ++scanned > MAX_SCANNED_ENTRIES) {
+                break;
+            }
+            if (terms.size() == 1 || name.matchesAll(terms)) {
+                matches.add(name);
+            }
+        }
+
+        List<CustomerSearchResultDTO> results = new ArrayList<>(matches.size());
+        matches.forEach(name -> results.add(new CustomerSearchResultDTO(name.id(), name.firstName(), name.lastName())));
+        return results;
+    }
+
+    /**
+     * @return number of indexed customers
+     */
+    public int size() {
+        return byId.size();
+    }
+
+    private void link(IndexedName name) {
+        for (String token : name.tokens()) {
+            String key = key(token, name.id());
+            if (entries.put(key, name) == null) {
+                estimatedBytes.addAndGet(ENTRY_OVERHEAD_BYTES + key.length());
+            }
+        }
+        estimatedBytes.addAndGet(name.estimatedBytes());
+    }
+
+    private void unlink(IndexedName name) {
+        for (String token : name.tokens()) {
+            String key = key(token, name.id());
+            if (entries.remove(key) != null) {
+                estimatedBytes.addAndGet(-(ENTRY_OVERHEAD_BYTES + key.length()));
+            }
+        }
+        estimatedBytes.addAndGet(-name.estimatedBytes());
+    }
+
+    private static String key(String token, Long id) {
+        return token + KEY_SEPARATOR + id;
+    }
+
+    /**
+     * Indexed customer: display names plus the distinct normalized words pointing at it.
+     */
+    private record IndexedName(Long id, String firstName, String lastName, Set<String> tokens) {
+
+        static IndexedName of(Long id, String firstName, String lastName) {
+            Set<String> tokens = new LinkedHashSet<>(NameNormalizer.tokens(firstName));
+            tokens.addAll(NameNormalizer.tokens(lastName));
+            return new IndexedName(id, firstName, lastName, Set.copyOf(tokens));
+        }
+
+        boolean matchesAll(List<String> terms) {
+            for (String term : terms) {
+                if (tokens.stream().noneMatch(token -> token.startsWith(term))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long estimatedBytes() {
+            int chars = length(firstName) + length(lastName);
+            for (String token : tokens) {
+                chars += token.length();
+            }
+            return NAME_OVERHEAD_BYTES + 48L * tokens.size() + 2L * chars;
+        }
+
+        private static int length(String value) {
+            return value == null ? 0 : value.length();
+        }
+    }
+}
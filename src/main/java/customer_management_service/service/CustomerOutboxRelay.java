@@ -0,0 +1,167 @@
+package customer_management_service.service;
+
+import customer_management_service.config.RabbitMQConfig;
+import customer_management_service.model.OutboxEvent;
+import customer_management_service.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.MessagePropertiesBuilder;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Background relay that drains the customer event outbox into RabbitMQ.
+ * Each batch is published on a single channel and only marked as published after
+ * the broker confirms it; unconfirmed batches stay in the outbox and are retried,
+ * which gives at-least-once delivery. The outbox row ID is sent as the AMQP message ID
+ * so consumers can deduplicate redeliveries.
+ * Publishing is measured by the {@code customer.outbox.publish} timer (per batch, tagged with the
+ * outcome), the {@code customer.outbox.events} counter and the {@code customer.outbox.delivery.lag}
+ * timer (time from the outbox write to the broker confirm).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "customer.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class CustomerOutboxRelay {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final String OUTCOME_SUCCESS = "success";
+    private static final String OUTCOME_FAILURE = "failure";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${customer.outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${customer.outbox.relay.confirm-timeout-ms:5000}")
+    private long confirmTimeoutMs;
+
+    @Value("${customer.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    /**
+     * Publishes pending events until the outbox is drained or the broker fails.
+     */
+    @Scheduled(fixedDelayString = "${customer.outbox.relay.interval-ms:500}")
+    public void relayPendingEvents() {
+        int published;
+        do {
+            published = relayBatch();
+        } while (published == batchSize);
+    }
+
+    /**
+     * Publishes one batch of pending events and waits for the broker confirms.
+     *
+     * @return number of events published, 0 when the outbox is empty or publishing failed
+     */
+    public int relayBatch() {
+        Integer published = transactionTemplate.execute(status -> {
+            List<OutboxEvent> batch = outboxEventRepository.findUnpublishedBatch(Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                rabbitTemplate.invoke(operations -> {
+                    batch.forEach(event -> operations.send(event.getExchange(), event.getRoutingKey(), toMessage(event)));
+                    operations.waitForConfirmsOrDie(confirmTimeoutMs);
+                    return null;
+                });
+            } catch (AmqpException e) {
+                sample.stop(publishTimer(OUTCOME_FAILURE));
+                eventCounter(OUTCOME_FAILURE).increment(batch.size());
+                log.warn("Failed to relay {} outbox events to RabbitMQ: {}", batch.size(), e.getMessage());
+                batch.forEach(event -> recordAttempt(event, e.getMessage()));
+                return 0;
+            }
+            sample.stop(publishTimer(OUTCOME_SUCCESS));
+            eventCounter(OUTCOME_SUCCESS).increment(batch.size());
+
+            LocalDateTime publishedAt = LocalDateTime.now(ZoneOffset.UTC);
+            Timer deliveryLag = meterRegistry.timer("customer.outbox.delivery.lag");
+            batch.forEach(event -> {
+                recordAttempt(event, null);
+                event.setPublishedAt(publishedAt);
+                deliveryLag.record(Duration.between(event.getCreatedAt(), publishedAt));
+            });
+            log.debug("Relayed {} outbox events to RabbitMQ", batch.size());
+            return batch.size();
+        });
+        return published != null ? published : 0;
+    }
+
+    /**
+     * Removes published events once they are older than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${customer.outbox.cleanup-interval-ms:3600000}")
+    public void purgePublishedEvents() {
+        LocalDateTime cutoff = LocalDateTime.now(ZoneOffset.UTC).minusHours(retentionHours);
+        int deleted = outboxEventRepository.deletePublishedBefore(cutoff);
+        if (deleted > 0) {
+            log.info("Purged {} published outbox events", deleted);
+        }
+    }
+
+    private Timer publishTimer(String outcome) {
+        return Timer.builder("customer.outbox.publish")
+            .description("Publishing an outbox batch to RabbitMQ, including broker confirms")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private Counter eventCounter(String outcome) {
+        return Counter.builder("customer.outbox.events")
+            .description("Outbox events relayed to RabbitMQ")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private Message toMessage(OutboxEvent event) {
+        MessageProperties properties = MessagePropertiesBuilder.newInstance()
+            .setContentType(event.getContentType())
+            .setMessageId(String.valueOf(event.getId()))
+            .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+            .build();
+        if (event.getAggregateId() != null) {
+            properties.setHeader(RabbitMQConfig.CUSTOMER_ID_HEADER, event.getAggregateId());
+        }
+        if (event.getOriginNode() != null) {
+            properties.setHeader(RabbitMQConfig.ORIGIN_NODE_HEADER, event.getOriginNode());
+        }
+        if (event.getPayloadType() != null) {
+            properties.setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, event.getPayloadType());
+        }
+        return new Message(event.getPayload(), properties);
+    }
+
+    private void recordAttempt(OutboxEvent event, String error) {
+        event.setAttempts(event.getAttempts() + 1);
+        if (error != null && error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+        event.setLastError(error);
+    }
+}
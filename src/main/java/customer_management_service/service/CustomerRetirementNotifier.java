@@ -0,0 +1,264 @@
+package customer_management_service.service;
+
+import customer_management_service.event.CustomerChangedEvent;
+import customer_management_service.event.CustomerSnapshot;
+import customer_management_service.repository.CustomerEventDate;
+import customer_management_service.repository.CustomerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Emits {@code customer.retirement.approaching} events a configurable number of days before
+ * each customer's estimated retirement date.
+ * Notifications due in the next {@code customer.retirement.window-days} are kept in a
+ * {@link RetirementTimingWheel}; later ones stay in the database and are loaded through the
+ * estimated event date index as the window slides, one day at a time. Committed creates,
+ * updates and deletes reschedule the affected customer, and changes made on other instances
+ * arrive through {@link #refresh(Long)}. At startup the customers already inside the notice
+ * period, whose retirement has not passed, are notified too, so that nobody is missed on the
+ * first deployment or after downtime. Each notification marks the customer as notified for its
+ * event date in the transaction that writes the event to the outbox, and only fires if the customer
+ * still has the scheduled event date and was not notified for it yet, so restarts, stale entries
+ * and other instances running the notifier do not send it twice.
+ * Disabled by default: enable it with {@code customer.retirement.enabled=true} on a single
+ * instance, since every instance running it loads and schedules all the notifications.
+ * The delay between the day a notification was due and the day it was emitted is published
+ * as the {@code customer.retirement.fire.lag} timer.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "customer.retirement.enabled", havingValue = "true")
+public class CustomerRetirementNotifier {
+
+    private final CustomerRepository customerRepository;
+    private final CustomerMessagingService customerMessagingService;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer fireLag;
+    private final Counter notifications;
+    private final int noticeDays;
+    private final RetirementTimingWheel wheel;
+    /** First fire date not yet loaded from the database. */
+    private LocalDate loadedUntil;
+
+    public CustomerRetirementNotifier(CustomerRepository customerRepository,
+                                      CustomerMessagingService customerMessagingService,
+                                      TransactionTemplate transactionTemplate,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${customer.retirement.notice-days:30}") int noticeDays,
+                                      @Value("${customer.retirement.window-days:30}") int windowDays) {
+        this.customerRepository = customerRepository;
+        this.customerMessagingService = customerMessagingService;
+        this.transactionTemplate = transactionTemplate;
+        this.noticeDays = noticeDays;
+        LocalDate today = today();
+        this.wheel = new RetirementTimingWheel(windowDays, today);
+        this.loadedUntil = today;
+        this.fireLag = Timer.builder("customer.retirement.fire.lag")
+            .description("Delay between the day a retirement notification was due and its emission")
+            .register(meterRegistry);
+        this.notifications = Counter.builder("customer.retirement.notifications")
+            .description("Retirement approaching events emitted")
+            .register(meterRegistry);
+        Gauge.builder("customer.retirement.scheduled", this, CustomerRetirementNotifier::scheduled)
+            .description("Retirement notifications held in the timing wheel")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Loads the overdue notifications and those of the first window once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        loadOverdue();
+        fill();
+        log.info("Retirement notifier loaded {} notifications due before {}", scheduled(), loadedUntil);
+    }
+
+    /**
+     * Emits the notifications due until today and slides the window.
+     */
+    @Scheduled(fixedDelayString = "${customer.retirement.tick-interval-ms:60000}")
+    public void tick() {
+        advance(today());
+    }
+
+    /**
+     * Emits the notifications due until the given day and loads the days entering the window.
+     * If emitting fails, the notifications are rescheduled and retried on the next tick.
+     *
+     * @param today last day to fire
+     */
+    void advance(LocalDate today) {
+        List<RetirementTimingWheel.Entry> due;
+        synchronized (wheel) {
+            due = wheel.advance(today);
+        }
+        if (!due.isEmpty()) {
+            emit(due, today);
+        }
+        fill();
+    }
+
+    /**
+     * Reschedules a customer after a committed change.
+     *
+     * @param event the customer change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        if (event.type() == CustomerChangedEvent.ChangeType.DELETED) {
+            cancel(event.customerId());
+            return;
+        }
+        CustomerSnapshot before = event.before();
+        CustomerSnapshot after = event.after();
+        if (before == null || !Objects.equals(before.estimatedEventDate(), after.estimatedEventDate())) {
+            reschedule(after.id(), after.estimatedEventDate());
+        }
+    }
+
+    /**
+     * Reloads one customer from the database, used for changes made by other instances.
+     *
+     * @param id customer ID
+     */
+    public void refresh(Long id) {
+        customerRepository.findEventDateById(id)
+            .filter(customer -> !customer.isNotified())
+            .ifPresentOrElse(
+                customer -> reschedule(customer.getId(), customer.getEstimatedEventDate()),
+                () -> cancel(id));
+    }
+
+    /**
+     * @return number of notifications held in the timing wheel
+     */
+    public int scheduled() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    private void reschedule(Long id, LocalDate eventDate) {
+        LocalDate today = today();
+        synchronized (wheel) {
+            if (eventDate == null || eventDate.isBefore(today)) {
+                wheel.cancel(id);
+                return;
+            }
+            // A customer moved inside the notice period is notified on the next tick
+            LocalDate fireDate = eventDate.minusDays(noticeDays);
+            wheel.schedule(new RetirementTimingWheel.Entry(id, eventDate, fireDate.isBefore(today) ? today : fireDate));
+        }
+    }
+
+    private void cancel(Long id) {
+        synchronized (wheel) {
+            wheel.cancel(id);
+        }
+    }
+
+    /**
+     * Loads from the database the customers whose notification was due before the window
+     * starts but whose retirement has not passed yet. They fire on the next advance.
+     */
+    private void loadOverdue() {
+        LocalDate from;
+        synchronized (wheel) {
+            from = loadedUntil;
+        }
+        List<CustomerEventDate> customers = customerRepository.findUnnotifiedEventDatesBetween(from, from.plusDays(noticeDays));
+        synchronized (wheel) {
+            for (CustomerEventDate customer : customers) {
+                LocalDate eventDate = customer.getEstimatedEventDate();
+                wheel.scheduleIfAbsent(
+                    new RetirementTimingWheel.Entry(customer.getId(), eventDate, eventDate.minusDays(noticeDays)));
+            }
+        }
+    }
+
+    /**
+     * Loads from the database the notifications whose fire date entered the window.
+     * Customers rescheduled in the meantime keep their newer entry; an entry made stale by a
+     * change committed during the load is dropped when it fires.
+     */
+    private void fill() {
+        LocalDate from;
+        LocalDate to;
+        synchronized (wheel) {
+            from = loadedUntil;
+            to = wheel.end();
+        }
+        if (!from.isBefore(to)) {
+            return;
+        }
+        List<CustomerEventDate> customers = customerRepository.findUnnotifiedEventDatesBetween(
+            from.plusDays(noticeDays), to.plusDays(noticeDays));
+        synchronized (wheel) {
+            for (CustomerEventDate customer : customers) {
+                LocalDate eventDate = customer.getEstimatedEventDate();
+                wheel.scheduleIfAbsent(
+                    new RetirementTimingWheel.Entry(customer.getId(), eventDate, eventDate.minusDays(noticeDays)));
+            }
+            loadedUntil = to;
+        }
+    }
+
+    /**
+     * Sends the due notifications in one transaction. Entries whose customer was deleted,
+     * rescheduled or already notified are skipped and the customer is reloaded instead.
+     */
+    private void emit(List<RetirementTimingWheel.Entry> due, LocalDate today) {
+        List<RetirementTimingWheel.Entry> sent = new ArrayList<>(due.size());
+        List<RetirementTimingWheel.Entry> stale = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                sent.clear();
+                stale.clear();
+                for (RetirementTimingWheel.Entry entry : due) {
+                    if (customerRepository.markRetirementNotified(entry.customerId(), entry.eventDate()) == 1) {
+                        customerMessagingService.sendRetirementApproachingEvent(entry.customerId(), entry.eventDate());
+                        sent.add(entry);
+                    } else {
+                        stale.add(entry);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not emit {} retirement notifications, retrying on the next tick: {}", due.size(), e.getMessage());
+            synchronized (wheel) {
+                due.forEach(wheel::scheduleIfAbsent);
+            }
+            return;
+        }
+        // Measured in the days of the wheel, so it is the number of days a notification was late
+        for (RetirementTimingWheel.Entry entry : sent) {
+            fireLag.record(Duration.between(entry.fireDate().atStartOfDay(), today.atStartOfDay()));
+        }
+        notifications.increment(sent.size());
+        log.debug("Emitted {} retirement notifications, skipped {} stale ones", sent.size(), stale.size());
+        stale.forEach(entry -> refresh(entry.customerId()));
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+}
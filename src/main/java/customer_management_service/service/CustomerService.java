@@ -1,23 +1,56 @@
 package customer_management_service.service;
 
+import customer_management_service.config.CacheConfig;
+import customer_management_service.dto.CustomerBatchGetResponseDTO;
 import customer_management_service.dto.CustomerCreateDTO;
 import customer_management_service.dto.CustomerDTO;
+import customer_management_service.dto.CustomerFilterDTO;
+import customer_management_service.dto.CustomerPageDTO;
+import customer_management_service.dto.CustomerSearchResultDTO;
 import customer_management_service.dto.CustomerUpdateDTO;
 import customer_management_service.dto.CustomerStatsDTO;
+import customer_management_service.event.CustomerChangedEvent;
+import customer_management_service.event.CustomerSnapshot;
 import customer_management_service.exception.CustomerNotFoundException;
+import customer_management_service.exception.DataConflictException;
 import customer_management_service.exception.InvalidDataException;
+import customer_management_service.exception.PreconditionFailedException;
 import customer_management_service.mapper.CustomerMapper;
 import customer_management_service.model.Customer;
 import customer_management_service.repository.CustomerRepository;
+import customer_management_service.repository.CustomerSpecifications;
+import customer_management_service.validation.CustomerFingerprint;
+import customer_management_service.validation.NameNormalizer;
+import customer_management_service.validation.ValidationConstants;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.Period;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -27,13 +60,26 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed(value = "customer.service", description = "Customer service operations")
 public class CustomerService {
 
     private static final int RETIREMENT_AGE = 65;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int DEFAULT_SEARCH_LIMIT = 10;
+    private static final int MAX_SEARCH_LIMIT = 50;
+    // Bounds the IN list of each batch lookup query
+    private static final int BATCH_GET_CHUNK_SIZE = 500;
 
     private final CustomerRepository customerRepository;
     private final CustomerMapper customerMapper;
     private final CustomerMessagingService customerMessagingService;
+    private final CustomerStatsAggregator customerStatsAggregator;
+    private final CustomerNameIndex customerNameIndex;
+    private final CustomerFingerprintIndex customerFingerprintIndex;
+    private final CustomerIdFilter customerIdFilter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Creates a new customer.
@@ -41,58 +87,339 @@ public class CustomerService {
      * 
      * @param customerDTO customer data to create
      * @return the created customer
+     * @throws DataConflictException if a customer with the same name and birth date exists
      */
     @Transactional
     public CustomerDTO createCustomer(CustomerCreateDTO customerDTO) {
-        validateAgeMatchesBirthDate(customerDTO.getAge(), customerDTO.getBirthDate());
-        
-        Customer customer = customerMapper.toEntity(customerDTO);
-        
-        customer.setEstimatedEventDate(getEstimatedEventDate(customer));
-        
-        Customer savedCustomer = customerRepository.save(customer);
+        Customer customer = toNewCustomer(customerDTO);
         
-        // Send asynchronous event notification
-        customerMessagingService.sendCustomerCreatedEvent(savedCustomer);
+        Customer savedCustomer = insert(() -> customerRepository.save(customer));
+        publishCreated(savedCustomer);
         
         return customerMapper.toDTO(savedCustomer);
     }
 
     /**
-     * Gets all customers ordered by creation date descending.
+     * Creates several customers in a single transaction.
+     * Used by bulk ingestion so that the inserts of a chunk can be batched by Hibernate.
      * 
-     * @return list of all customers
+     * @param customerDTOs customers to create
+     * @return the created customers, in the same order as the input
+     * @throws DataConflictException if a customer duplicates an existing one or another of the list
      */
-    public List<CustomerDTO> getAllCustomers() {
-        return customerRepository.findAllByOrderByCreationDateDesc().stream()
+    @Transactional
+    public List<CustomerDTO> createCustomers(List<CustomerCreateDTO> customerDTOs) {
+        List<Customer> customers = customerDTOs.stream()
+            .map(this::toNewCustomer)
+            .collect(Collectors.toList());
+        Set<String> fingerprints = new HashSet<>(customers.size() * 2);
+        for (Customer customer : customers) {
+            if (!fingerprints.add(customer.getFingerprint())) {
+                throw duplicate("memory");
+            }
+        }
+        
+        List<Customer> savedCustomers = insert(() -> customerRepository.saveAll(customers));
+        savedCustomers.forEach(this::publishCreated);
+        
+        return savedCustomers.stream()
             .map(customerMapper::toDTO)
             .collect(Collectors.toList());
     }
 
     /**
-     * Gets a customer by ID.
+     * Validates the creation data and builds the customer entity with its estimated event date
+     * and fingerprint.
+     * 
+     * @param customerDTO customer data to create
+     * @return the new, not yet persisted, customer
+     * @throws DataConflictException if a committed customer has the same fingerprint
+     */
+    private Customer toNewCustomer(CustomerCreateDTO customerDTO) {
+        validateAgeMatchesBirthDate(customerDTO.getAge(), customerDTO.getBirthDate());
+        
+        Customer customer = customerMapper.toEntity(customerDTO);
+        customer.setEstimatedEventDate(getEstimatedEventDate(customer));
+        String fingerprint = fingerprintOf(customer);
+        rejectKnownDuplicate(fingerprint);
+        customer.setFingerprint(fingerprint);
+        return customer;
+    }
+
+    /**
+     * Runs the inserts and flushes them, so that a duplicate that raced past the in-memory
+     * check is reported here, by the fingerprint unique constraint, rather than at commit.
+     * 
+     * @param save the save call
+     * @return the saved customers
+     * @throws DataConflictException if the fingerprint constraint rejected an insert
+     */
+    private <T> T insert(Supplier<T> save) {
+        try {
+            T saved = save.get();
+            customerRepository.flush();
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            throw translateDuplicate(e);
+        }
+    }
+
+    /**
+     * Rejects a fingerprint a committed customer already has, without querying the database.
+     * 
+     * @param fingerprint fingerprint of the customer about to be written
+     * @throws DataConflictException if the fingerprint is taken
+     */
+    private void rejectKnownDuplicate(String fingerprint) {
+        if (customerFingerprintIndex.contains(fingerprint)) {
+            throw duplicate("memory");
+        }
+    }
+
+    /**
+     * @param e the integrity violation raised by a write
+     * @return a duplicate conflict if the fingerprint constraint was violated, otherwise {@code e}
+     */
+    private RuntimeException translateDuplicate(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        if (message != null && message.toLowerCase(Locale.ROOT).contains(Customer.FINGERPRINT_CONSTRAINT)) {
+            return duplicate("constraint");
+        }
+        return e;
+    }
+
+    /**
+     * Counts a rejected duplicate by the check that caught it, so the share caught without
+     * a database round trip can be tracked.
+     * 
+     * @param check {@code memory} for the fingerprint index, {@code constraint} for the database
+     * @return the exception to throw
+     */
+    private DataConflictException duplicate(String check) {
+        Counter.builder("customer.duplicates.rejected")
+            .description("Writes rejected as exact duplicates of another customer, by the check that caught them")
+            .tag("check", check)
+            .register(meterRegistry)
+            .increment();
+        return new DataConflictException(ValidationConstants.DUPLICATE_CUSTOMER);
+    }
+
+    private static String fingerprintOf(Customer customer) {
+        return CustomerFingerprint.of(customer.getFirstName(), customer.getLastName(), customer.getBirthDate());
+    }
+
+    /**
+     * Publishes the created event for listeners and queues the asynchronous notification.
+     * 
+     * @param savedCustomer the persisted customer
+     */
+    private void publishCreated(Customer savedCustomer) {
+        eventPublisher.publishEvent(CustomerChangedEvent.created(savedCustomer));
+        customerMessagingService.sendCustomerCreatedEvent(savedCustomer);
+    }
+
+    /**
+     * Gets a page of customers, optionally filtered and sorted.
+     * Uses keyset pagination on (sort field, id) so deep pages cost the same as the first one.
+     * The unfiltered listing ordered by creation date descending runs on its dedicated queries;
+     * any other combination runs as a single query built from {@link CustomerSpecifications}.
+     * Rows are selected straight into DTOs, without loading managed entities.
+     * Identical concurrent requests, such as a dashboard's first page, share one execution.
+     * 
+     * @param cursor opaque continuation token from a previous page, or null for the first page
+     * @param size maximum number of customers to return, or null for the default page size
+     * @param filter filter criteria and sort
+     * @return the requested page and the cursor for the next one
+     * @throws InvalidDataException if the cursor, page size, filter or sort is invalid
+     */
+    @Coalesced("customer-page")
+    @Transactional(readOnly = true)
+    public CustomerPageDTO getAllCustomers(String cursor, Integer size, CustomerFilterDTO filter) {
+        int pageSize = resolvePageSize(size);
+        CustomerSort sort = CustomerSort.parse(filter.getSort());
+        validateFilter(filter);
+        CustomerCursor position = cursor == null || cursor.isBlank() ? null : CustomerCursor.decode(cursor);
+        if (position != null && !position.sort().equals(sort)) {
+            throw new InvalidDataException("Cursor does not match the requested sort");
+        }
+        // Fetch one extra row to know whether there is a next page without a count query
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<CustomerDTO> customers;
+        if (!filter.hasCriteria() && sort.equals(CustomerSort.DEFAULT)) {
+            customers = position == null
+                ? customerRepository.findFirstPage(limit)
+                : customerRepository.findPageAfter((LocalDateTime) position.value(), position.id(), limit);
+        } else {
+            customers = customerRepository.findFiltered(toSpecification(filter, position), sort.toSort(), limit);
+        }
+
+        boolean hasNext = customers.size() > pageSize;
+        List<CustomerDTO> content = hasNext ? customers.subList(0, pageSize) : customers;
+        String nextCursor = hasNext ? CustomerCursor.after(sort, content.get(pageSize - 1)).encode() : null;
+        return new CustomerPageDTO(content, nextCursor);
+    }
+
+    /**
+     * Validates the filter ranges.
+     * 
+     * @param filter filter criteria
+     * @throws InvalidDataException if a range is empty or an age is negative
+     */
+    private void validateFilter(CustomerFilterDTO filter) {
+        if ((filter.getAgeMin() != null && filter.getAgeMin() < 0)
+                || (filter.getAgeMax() != null && filter.getAgeMax() < 0)) {
+            throw new InvalidDataException("Age filters must not be negative");
+        }
+        if (filter.getAgeMin() != null && filter.getAgeMax() != null && filter.getAgeMin() > filter.getAgeMax()) {
+            throw new InvalidDataException("ageMin must not be greater than ageMax");
+        }
+        if (filter.getBornAfter() != null && filter.getBornBefore() != null
+                && !filter.getBornAfter().isBefore(filter.getBornBefore())) {
+            throw new InvalidDataException("bornAfter must be before bornBefore");
+        }
+    }
+
+    /**
+     * Combines the filter criteria and the keyset position into a single specification.
+     * 
+     * @param filter filter criteria
+     * @param position keyset position, or null for the first page
+     * @return the specification to run
+     */
+    private Specification<Customer> toSpecification(CustomerFilterDTO filter, CustomerCursor position) {
+        Specification<Customer> specification = Specification.allOf(
+            CustomerSpecifications.ageAtLeast(filter.getAgeMin()),
+            CustomerSpecifications.ageAtMost(filter.getAgeMax()),
+            CustomerSpecifications.bornAfter(filter.getBornAfter()),
+            CustomerSpecifications.bornBefore(filter.getBornBefore()),
+            CustomerSpecifications.retiringBefore(filter.getRetiringBefore()),
+            CustomerSpecifications.lastNameStartsWith(filter.getLastNamePrefix())
+        );
+        if (position == null) {
+            return specification;
+        }
+        return specification.and(CustomerSpecifications.after(
+            position.sort().field().attribute(), position.value(), position.id(), position.sort().descending()));
+    }
+
+    /**
+     * Resolves the requested page size, applying the default and the upper bound.
+     * 
+     * @param size requested page size, may be null
+     * @return the page size to use
+     */
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidDataException(
+                String.format("Page size must be between 1 and %d", MAX_PAGE_SIZE)
+            );
+        }
+        return size;
+    }
+
+    /**
+     * Searches customers by name prefix, ignoring case and accents.
+     * Every word of the query must be the start of a word of the first or last name,
+     * so "jua pe" finds "Juan Pérez". Served from the in-memory name index.
+     * 
+     * @param query search text
+     * @param limit maximum number of results, or null for the default
+     * @return matching customers
+     * @throws InvalidDataException if the query has no letters or the limit is invalid
+     */
+    public List<CustomerSearchResultDTO> searchCustomers(String query, Integer limit) {
+        int resultLimit = limit == null ? DEFAULT_SEARCH_LIMIT : limit;
+        if (resultLimit < 1 || resultLimit > MAX_SEARCH_LIMIT) {
+            throw new InvalidDataException(
+                String.format("Search limit must be between 1 and %d", MAX_SEARCH_LIMIT)
+            );
+        }
+        if (NameNormalizer.tokens(query).isEmpty()) {
+            throw new InvalidDataException("Search query must contain at least one letter");
+        }
+        return customerNameIndex.search(query, resultLimit);
+    }
+
+    /**
+     * Gets a customer by ID, selected straight into a DTO.
+     * Results are cached and evicted by {@link CustomerCacheInvalidator} after updates and deletes.
+     * The database stays authoritative even for IDs that {@link CustomerIdFilter} rules out, since
+     * a create made on another instance may not have reached the filter yet; a customer found
+     * that way is added to it. Concurrent lookups of the same ID share one execution, so an
+     * expired hot entry is loaded once.
+     * The transaction is read-write so the lookup always reads the primary: a row read from a
+     * lagging replica right after an update would be cached until the entry expires.
      * 
      * @param id customer ID
      * @return the found customer
      * @throws CustomerNotFoundException if customer is not found
      */
+    @Coalesced("customer")
+    @Cacheable(cacheNames = CacheConfig.CUSTOMERS_CACHE, key = "#id")
+    @Transactional
     public CustomerDTO getCustomerById(Long id) {
-        Customer customer = customerRepository.findById(id)
+        CustomerDTO customer = customerRepository.findDTOById(id)
             .orElseThrow(() -> new CustomerNotFoundException(id));
-        return customerMapper.toDTO(customer);
+        customerIdFilter.confirm(id);
+        return customer;
+    }
+
+    /**
+     * Gets many customers by ID in a few queries.
+     * Duplicate IDs are looked up once, and the IDs are loaded in chunks of bounded size so
+     * that every query has a short IN list, selected straight into DTOs. Missing customers
+     * are reported, not thrown.
+     * 
+     * @param ids customer IDs
+     * @return the customers found and the missing IDs, both in request order
+     * @throws InvalidDataException if there are no IDs, too many, or a null one
+     */
+    @Transactional(readOnly = true)
+    public CustomerBatchGetResponseDTO getCustomersByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidDataException(ValidationConstants.BATCH_GET_IDS_REQUIRED);
+        }
+        if (ids.size() > ValidationConstants.MAX_BATCH_GET_IDS) {
+            throw new InvalidDataException(ValidationConstants.BATCH_GET_IDS_SIZE);
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new InvalidDataException(ValidationConstants.BATCH_GET_ID_REQUIRED);
+        }
+
+        List<Long> uniqueIds = List.copyOf(new LinkedHashSet<>(ids));
+        Map<Long, CustomerDTO> found = new HashMap<>(uniqueIds.size() * 2);
+        for (int from = 0; from < uniqueIds.size(); from += BATCH_GET_CHUNK_SIZE) {
+            List<Long> chunk = uniqueIds.subList(from, Math.min(from + BATCH_GET_CHUNK_SIZE, uniqueIds.size()));
+            for (CustomerDTO customer : customerRepository.findDTOsByIdIn(chunk)) {
+                found.put(customer.getId(), customer);
+            }
+        }
+
+        List<CustomerDTO> customers = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : uniqueIds) {
+            CustomerDTO customer = found.get(id);
+            if (customer != null) {
+                customers.add(customer);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new CustomerBatchGetResponseDTO(customers, missingIds);
     }
 
     /**
      * Gets general statistics of all customers.
+     * Served from the in-memory aggregates, so it never queries the database.
      * 
      * @return statistics with average age, standard deviation and total customers
      */
     public CustomerStatsDTO getCustomerStats() {
-        Double averageAge = customerRepository.getAverageAge();
-        Double standardDeviation = customerRepository.getAgeStandardDeviation();
-        Long totalCustomers = customerRepository.count();
-        
-        return new CustomerStatsDTO(averageAge, standardDeviation, totalCustomers);
+        return customerStatsAggregator.getStats();
     }
 
     /**
@@ -101,7 +428,7 @@ public class CustomerService {
      * @return average age
      */
     public Double getAverageAge() {
-        return customerRepository.getAverageAge();
+        return customerStatsAggregator.getAverageAge();
     }
 
     /**
@@ -110,36 +437,103 @@ public class CustomerService {
      * @return standard deviation of ages
      */
     public Double getAgeStandardDeviation() {
-        return customerRepository.getAgeStandardDeviation();
+        return customerStatsAggregator.getAgeStandardDeviation();
     }
 
     /**
      * Updates an existing customer.
      * Only updates fields provided in the DTO.
      * Recalculates retirement date if birth date changes.
+     * The update is optimistic: it only applies if the row still has the version that was read,
+     * so concurrent updates of the same customer never overwrite each other silently.
+     * An update that leaves every field unchanged is a no-op: nothing is written, the version
+     * is kept and no event is published. Otherwise only the changed columns are written.
      * 
      * @param id customer ID to update
      * @param customerDTO update data
+     * @param expectedVersions versions the caller accepts to update (If-Match), or null for any
      * @return the updated customer
      * @throws CustomerNotFoundException if customer is not found
+     * @throws PreconditionFailedException if the current version is not one of the expected ones
+     * @throws DataConflictException if the customer was modified concurrently, or now
+     *         duplicates another customer's name and birth date
      */
     @Transactional
-    public CustomerDTO updateCustomer(Long id, CustomerUpdateDTO customerDTO) {
+    public CustomerDTO updateCustomer(Long id, CustomerUpdateDTO customerDTO, Collection<Long> expectedVersions) {
         Customer customer = customerRepository.findById(id)
             .orElseThrow(() -> new CustomerNotFoundException(id));
+        if (expectedVersions != null && !expectedVersions.contains(customer.getVersion())) {
+            throw new PreconditionFailedException(String.format(
+                "Customer %d is at version %d, not the expected one", id, customer.getVersion()));
+        }
+        CustomerSnapshot before = CustomerSnapshot.of(customer);
 
         validateUpdateData(customerDTO);
         customerMapper.updateEntityFromDTO(customer, customerDTO);
         updateEstimatedEventDateIfNeeded(customer, customerDTO);
 
-        Customer updatedCustomer = customerRepository.save(customer);
+        List<String> changedFields = CustomerSnapshot.changedFields(before, CustomerSnapshot.of(customer));
+        recordUpdate(changedFields);
+        if (changedFields.isEmpty()) {
+            return customerMapper.toDTO(customer);
+        }
+        String fingerprint = fingerprintOf(customer);
+        // Legacy duplicates keep a null fingerprint, so it is only written when it changed
+        if (!fingerprint.equals(CustomerFingerprint.of(before.firstName(), before.lastName(), before.birthDate()))) {
+            rejectKnownDuplicate(fingerprint);
+            customer.setFingerprint(fingerprint);
+        }
+
+        Customer updatedCustomer = saveVersioned(customer);
+        eventPublisher.publishEvent(CustomerChangedEvent.updated(before, updatedCustomer));
         
         // Send asynchronous event notification
-        customerMessagingService.sendCustomerUpdatedEvent(updatedCustomer);
+        customerMessagingService.sendCustomerUpdatedEvent(before, updatedCustomer);
         
         return customerMapper.toDTO(updatedCustomer);
     }
 
+    /**
+     * Counts an update by whether it changed anything, and each changed field, so the share
+     * of no-op updates can be tracked.
+     * 
+     * @param changedFields names of the changed fields, empty for a no-op
+     */
+    private void recordUpdate(List<String> changedFields) {
+        Counter.builder("customer.update")
+            .description("Customer updates, by whether they changed any field")
+            .tag("result", changedFields.isEmpty() ? "noop" : "changed")
+            .register(meterRegistry)
+            .increment();
+        for (String field : changedFields) {
+            Counter.builder("customer.update.fields")
+                .description("Fields changed by customer updates")
+                .tag("field", field)
+                .register(meterRegistry)
+                .increment();
+        }
+    }
+
+    /**
+     * Flushes the update so that a concurrent modification is detected here, while the
+     * events of this update have not been queued, rather than at commit.
+     * 
+     * @param customer the modified customer
+     * @return the updated customer, with its new version
+     * @throws DataConflictException if the row no longer has the version that was read, or
+     *         the fingerprint constraint rejected the change
+     */
+    private Customer saveVersioned(Customer customer) {
+        try {
+            return customerRepository.saveAndFlush(customer);
+        } catch (OptimisticLockingFailureException e) {
+            throw new DataConflictException(String.format(
+                "Customer %d was modified concurrently, retry with its current version", customer.getId()), e);
+        } catch (DataIntegrityViolationException e) {
+            throw translateDuplicate(e);
+        }
+    }
+
     /**
      * Validates the update data if both age and birth date are provided.
      * 
@@ -176,6 +570,7 @@ public class CustomerService {
             .orElseThrow(() -> new CustomerNotFoundException(id));
             
         customerRepository.delete(customer);
+        eventPublisher.publishEvent(CustomerChangedEvent.deleted(customer));
         
         // Send asynchronous event notification
         customerMessagingService.sendCustomerDeletedEvent(id);
@@ -0,0 +1,107 @@
+package customer_management_service.service;
+
+import customer_management_service.exception.InvalidDataException;
+import customer_management_service.dto.CustomerDTO;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Ordering of a customer listing. Every ordering is made total by breaking ties on the ID
+ * in the same direction, so it can be used for keyset pagination.
+ *
+ * @param field attribute to sort by
+ * @param descending whether the ordering is descending
+ */
+record CustomerSort(Field field, boolean descending) {
+
+    /** Newest customers first, the ordering of the unfiltered listing. */
+    static final CustomerSort DEFAULT = new CustomerSort(Field.CREATION_DATE, true);
+
+    /**
+     * Sortable attributes, each backed by a composite (attribute, id) index.
+     */
+    enum Field {
+        CREATION_DATE("creationDate", CustomerDTO::getCreationDate, LocalDateTime::parse),
+        AGE("age", CustomerDTO::getAge, Integer::valueOf),
+        BIRTH_DATE("birthDate", CustomerDTO::getBirthDate, LocalDate::parse),
+        LAST_NAME("lastName", CustomerDTO::getLastName, Function.identity());
+
+        private final String attribute;
+        private final Function<CustomerDTO, ? extends Comparable<?>> getter;
+        private final Function<String, ? extends Comparable<?>> parser;
+
+        Field(String attribute,
+              Function<CustomerDTO, ? extends Comparable<?>> getter,
+              Function<String, ? extends Comparable<?>> parser) {
+            this.attribute = attribute;
+            this.getter = getter;
+            this.parser = parser;
+        }
+
+        String attribute() {
+            return attribute;
+        }
+
+        Comparable<?> valueOf(CustomerDTO customer) {
+            return getter.apply(customer);
+        }
+
+        Comparable<?> parse(String value) {
+            return parser.apply(value);
+        }
+
+        static Field fromAttribute(String attribute) {
+            for (Field field : values()) {
+                if (field.attribute.equals(attribute)) {
+                    return field;
+                }
+            }
+            throw new InvalidDataException("Unsupported sort field: " + attribute);
+        }
+    }
+
+    /**
+     * Parses a {@code field[,asc|desc]} sort parameter. The direction defaults to ascending.
+     *
+     * @param value sort parameter, or null for {@link #DEFAULT}
+     * @return the parsed sort
+     * @throws InvalidDataException if the field or direction is not supported
+     */
+    static CustomerSort parse(String value) {
+        if (value == null || value.isBlank()) {
+            return DEFAULT;
+        }
+        String[] parts = value.split(",", -1);
+        if (parts.length > 2) {
+            throw new InvalidDataException("Invalid sort: " + value);
+        }
+        Field field = Field.fromAttribute(parts[0].trim());
+        if (parts.length == 1) {
+            return new CustomerSort(field, false);
+        }
+        return switch (parts[1].trim().toLowerCase(Locale.ROOT)) {
+            case "asc" -> new CustomerSort(field, false);
+            case "desc" -> new CustomerSort(field, true);
+            default -> throw new InvalidDataException("Invalid sort direction: " + parts[1]);
+        };
+    }
+
+    /**
+     * @return the Spring Data sort, including the ID tie-breaker
+     */
+    Sort toSort() {
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return Sort.by(direction, field.attribute(), "id");
+    }
+
+    /**
+     * @return the textual form accepted by {@link #parse(String)}
+     */
+    String format() {
+        return field.attribute() + (descending ? ",desc" : ",asc");
+    }
+}
@@ -0,0 +1,194 @@
+package customer_management_service.service;
+
+import customer_management_service.dto.CustomerStatsDTO;
+import customer_management_service.event.CustomerChangedEvent;
+import customer_management_service.repository.AgeAggregates;
+import customer_management_service.repository.CustomerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps the customer age statistics in memory so they can be served in constant time.
+ * The running count, sum and sum of squares are seeded from the database at startup,
+ * updated after every committed create/update/delete, and periodically reconciled
+ * against the database to detect and correct drift. Changes made by other instances are
+ * picked up through {@link #requestRefresh()}, which reloads the aggregates shortly after.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerStatsAggregator {
+
+    private final CustomerRepository customerRepository;
+
+    private final AtomicReference<AgeState> state = new AtomicReference<>(AgeState.EMPTY);
+    private final AtomicBoolean refreshRequested = new AtomicBoolean();
+
+    /**
+     * Seeds the statistics from the database once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+        log.info("Customer statistics seeded with {} customers", state.get().count());
+    }
+
+    /**
+     * Applies the age delta of a committed customer change.
+     *
+     * @param event the customer change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        switch (event.type()) {
+            case CREATED -> apply(1, event.after().age());
+            case DELETED -> apply(-1, event.before().age());
+            case UPDATED -> {
+                if (!event.before().age().equals(event.after().age())) {
+                    apply(-1, event.before().age());
+                    apply(1, event.after().age());
+                }
+            }
+        }
+    }
+
+    /**
+     * Recomputes the aggregates from the database and replaces the in-memory state if it drifted.
+     */
+    @Scheduled(
+        fixedDelayString = "${customer.stats.reconciliation-interval-ms:300000}",
+        initialDelayString = "${customer.stats.reconciliation-interval-ms:300000}"
+    )
+    public void reconcile() {
+        reload(true);
+    }
+
+    /**
+     * Marks the statistics as stale because another instance changed the customers.
+     * Requests are coalesced: a burst of remote changes costs a single aggregate query.
+     */
+    public void requestRefresh() {
+        refreshRequested.set(true);
+    }
+
+    /**
+     * Reloads the aggregates if a refresh was requested since the last run.
+     */
+    @Scheduled(fixedDelayString = "${customer.stats.refresh-interval-ms:1000}")
+    public void refreshIfRequested() {
+        if (refreshRequested.getAndSet(false) && !reload(false)) {
+            refreshRequested.set(true);
+        }
+    }
+
+    /**
+     * Loads the aggregates from the database and swaps them in.
+     * The swap is skipped when local changes were applied while the query was running,
+     * since the database snapshot may then be older than the in-memory state.
+     *
+     * @param unexpected whether a difference means drift (logged as a warning) rather than a remote change
+     * @return false if the swap was skipped and should be retried
+     */
+    private boolean reload(boolean unexpected) {
+        AgeState current = state.get();
+        AgeAggregates aggregates = customerRepository.getAgeAggregates();
+        AgeState actual = new AgeState(
+            aggregates.getTotal(), aggregates.getAgeSum(), aggregates.getAgeSquaresSum(), current.version() + 1
+        );
+
+        if (current.sameTotalsAs(actual)) {
+            return true;
+        }
+        if (!state.compareAndSet(current, actual)) {
+            log.debug("Customer statistics changed during reload, retrying on next run");
+            return false;
+        }
+        if (unexpected) {
+            log.warn("Customer statistics drift corrected: count {} -> {}, age sum {} -> {}",
+                current.count(), actual.count(), current.sum(), actual.sum());
+        } else {
+            log.debug("Customer statistics refreshed: count {} -> {}", current.count(), actual.count());
+        }
+        return true;
+    }
+
+    /**
+     * @return current statistics snapshot
+     */
+    public CustomerStatsDTO getStats() {
+        AgeState current = state.get();
+        return new CustomerStatsDTO(current.average(), current.standardDeviation(), current.count());
+    }
+
+    /**
+     * Version of the current statistics, derived from the running totals rather than from the
+     * local change counter, so every instance holding the same totals reports the same version.
+     *
+     * @return version that changes whenever the statistics change
+     */
+    public String getVersion() {
+        AgeState current = state.get();
+        return Long.toHexString(current.count()) + "-" + Long.toHexString(current.sum())
+            + "-" + Long.toHexString(current.sumOfSquares());
+    }
+
+    /**
+     * @return average age, or null when there are no customers
+     */
+    public Double getAverageAge() {
+        return state.get().average();
+    }
+
+    /**
+     * @return population standard deviation of ages, or null when there are no customers
+     */
+    public Double getAgeStandardDeviation() {
+        return state.get().standardDeviation();
+    }
+
+    /**
+     * Adds (sign = 1) or removes (sign = -1) one age from the running aggregates.
+     */
+    private void apply(int sign, long age) {
+        state.updateAndGet(current -> new AgeState(
+            current.count() + sign,
+            current.sum() + sign * age,
+            current.sumOfSquares() + sign * age * age,
+            current.version() + 1
+        ));
+    }
+
+    /**
+     * Immutable aggregate state. Ages are integers, so the sums are kept exactly in longs
+     * and never accumulate floating point error.
+     */
+    private record AgeState(long count, long sum, long sumOfSquares, long version) {
+
+        static final AgeState EMPTY = new AgeState(0, 0, 0, 0);
+
+        boolean sameTotalsAs(AgeState other) {
+            return count == other.count && sum == other.sum && sumOfSquares == other.sumOfSquares;
+        }
+
+        Double average() {
+            return count == 0 ? null : (double) sum / count;
+        }
+
+        Double standardDeviation() {
+            if (count == 0) {
+                return null;
+            }
+            double mean = (double) sum / count;
+            double variance = (double) sumOfSquares / count - mean * mean;
+            return Math.sqrt(Math.max(variance, 0.0));
+        }
+    }
+}
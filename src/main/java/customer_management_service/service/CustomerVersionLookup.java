@@ -0,0 +1,151 @@
+package customer_management_service.service;
+
+import customer_management_service.config.CacheConfig;
+import customer_management_service.dto.CustomerDTO;
+import customer_management_service.repository.CustomerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Resolves the validators (ETag and Last-Modified) of customer resources without building
+ * their representation, so that conditional GETs can be answered with 304 Not Modified
+ * before the customer is loaded, mapped and serialized.
+ * A customer version comes from the cached DTO when present, otherwise from a query that
+ * reads only its version columns, skipped for IDs that {@link CustomerIdFilter} rules out.
+ * An ID the filter misses only loses the 304 shortcut: the full lookup that follows still
+ * reads the database. The statistics version is derived from the in-memory totals.
+ */
+@Component
+@RequiredArgsConstructor
+public class CustomerVersionLookup {
+
+    public static final String CUSTOMER_RESOURCE = "customer";
+    public static final String STATS_RESOURCE = "stats";
+
+    private final CustomerRepository customerRepository;
+    private final CustomerIdFilter customerIdFilter;
+    private final CacheManager cacheManager;
+    private final CustomerStatsAggregator customerStatsAggregator;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Looks up the current version of a customer.
+     * Concurrent lookups of the same customer share one execution.
+     *
+     * @param id customer ID
+     * @return the customer version, or empty if the customer does not exist
+     */
+    @Coalesced("customer-version")
+    public Optional<CustomerVersion> getCustomerVersion(Long id) {
+        Cache cache = cacheManager.getCache(CacheConfig.CUSTOMERS_CACHE);
+        CustomerDTO cached = cache != null ? cache.get(id, CustomerDTO.class) : null;
+        if (cached != null) {
+            return Optional.of(CustomerVersion.of(cached));
+        }
+        if (!customerIdFilter.mightExist(id)) {
+            return Optional.empty();
+        }
+        return customerRepository.findRevisionById(id)
+            .map(revision -> new CustomerVersion(id, revision.getVersion(), revision.getUpdateDate()));
+    }
+
+    /**
+     * @return current version of the customer statistics
+     */
+    public String getStatsVersion() {
+        return customerStatsAggregator.getVersion();
+    }
+
+    /**
+     * Counts a GET of a versioned resource, so the share of 304 responses can be tracked.
+     *
+     * @param resource {@link #CUSTOMER_RESOURCE} or {@link #STATS_RESOURCE}
+     * @param notModified whether the request was answered with 304 Not Modified
+     */
+    public void recordGet(String resource, boolean notModified) {
+        Counter.builder("customer.http.conditional")
+            .description("GETs of versioned customer resources, by whether they were answered with 304")
+            .tag("resource", resource)
+            .tag("result", notModified ? "not_modified" : "ok")
+            .register(meterRegistry)
+            .increment();
+    }
+
+    /**
+     * Version of a customer: its optimistic lock version, which is also its entity tag,
+     * and its last modification time.
+     *
+     * @param id customer ID
+     * @param version optimistic lock version
+     * @param lastModified last modification time, in the server time zone
+     */
+    public record CustomerVersion(Long id, Long version, LocalDateTime lastModified) {
+
+        /**
+         * @param customer customer representation
+         * @return the version of that representation
+         */
+        public static CustomerVersion of(CustomerDTO customer) {
+            LocalDateTime lastModified = customer.getUpdateDate() != null
+                ? customer.getUpdateDate()
+                : customer.getCreationDate();
+            return new CustomerVersion(customer.getId(), customer.getVersion(), lastModified);
+        }
+
+        /**
+         * Parses an If-Match header into the versions of the given customer it accepts.
+         * If-Match uses the strong comparison, so weak tags and tags of other resources
+         * accept no version.
+         *
+         * @param id customer ID
+         * @param ifMatch If-Match header value, may be null
+         * @return the accepted versions, or null if the header is absent or "*"
+         */
+        public static Set<Long> acceptedVersions(Long id, String ifMatch) {
+            if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+                return null;
+            }
+            String prefix = id + "-";
+            Set<Long> versions = new HashSet<>();
+            for (String tag : ifMatch.split(",")) {
+                tag = tag.trim();
+                if (tag.length() < 2 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+                    continue;
+                }
+                String value = tag.substring(1, tag.length() - 1);
+                if (value.startsWith(prefix)) {
+                    try {
+                        versions.add(Long.parseLong(value.substring(prefix.length())));
+                    } catch (NumberFormatException e) {
+                        // Not one of our tags, matches no version
+                    }
+                }
+            }
+            return versions;
+        }
+
+        /**
+         * @return entity tag value, without quotes
+         */
+        public String eTag() {
+            return id + "-" + version;
+        }
+
+        /**
+         * @return last modification time in epoch milliseconds
+         */
+        public long lastModifiedMillis() {
+            return lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package customer_management_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Single-flight execution of {@link Coalesced} reads. The first call with given arguments
+ * executes and publishes its outcome to the calls with the same arguments that arrive
+ * before it finishes; a call arriving afterwards executes again, so nothing is kept once
+ * the execution completes. Runs right after the {@code ExposeInvocationInterceptor}, which
+ * the annotation binding needs, and ahead of the cache and transaction advice, so the
+ * collapsed calls skip the cache lookup and never begin a transaction.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class ReadCoalescingAspect {
+
+    private final Map<CallKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    @Around(value = "@annotation(coalesced)", argNames = "joinPoint,coalesced")
+    public Object coalesce(ProceedingJoinPoint joinPoint, Coalesced coalesced) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        CallKey key = new CallKey(method, Arrays.asList(joinPoint.getArgs()));
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            count(coalesced.value(), "collapsed");
+            return await(leader, joinPoint);
+        }
+
+        count(coalesced.value(), "executed");
+        try {
+            Object result = joinPoint.proceed();
+            mine.complete(result);
+            return result;
+        } catch (Throwable e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> leader, ProceedingJoinPoint joinPoint) throws Throwable {
+        try {
+            return leader.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            // Stop waiting but still answer the call, on its own
+            Thread.currentThread().interrupt();
+            return joinPoint.proceed();
+        }
+    }
+
+    private void count(String operation, String result) {
+        Counter.builder("customer.reads.coalesced")
+            .description("Coalesced reads, by whether the call executed or shared an identical call in flight")
+            .tag("operation", operation)
+            .tag("result", result)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    /**
+     * Method and arguments of a call; calls with equal keys share one execution.
+     */
+    private record CallKey(Method method, List<Object> args) {
+    }
+}
@@ -0,0 +1,127 @@
+package customer_management_service.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Timing wheel with one slot per day over a fixed window of days starting at the cursor.
+ * Scheduling, cancelling and firing a day cost O(1) per entry, regardless of how many
+ * customers exist. Entries due beyond the window are rejected: the caller keeps them in
+ * the database and loads them as the window slides, so the database index acts as the
+ * coarse outer level of the wheel. Entries due before the cursor fire on the next advance.
+ * Not thread-safe on its own; {@link CustomerRetirementNotifier} synchronizes access.
+ */
+final class RetirementTimingWheel {
+
+    /**
+     * Scheduled notification.
+     *
+     * @param customerId customer to notify about
+     * @param eventDate estimated retirement date
+     * @param fireDate day the notification is due
+     */
+    record Entry(Long customerId, LocalDate eventDate, LocalDate fireDate) {
+    }
+
+    private final int days;
+    private final List<Map<Long, Entry>> slots;
+    private final Map<Long, Entry> overdue = new LinkedHashMap<>();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private LocalDate cursor;
+
+    /**
+     * @param days window length in days
+     * @param start first day of the window, the next day to fire
+     */
+    RetirementTimingWheel(int days, LocalDate start) {
+        this.days = days;
+        this.slots = new ArrayList<>(days);
+        for (int i = 0; i < days; i++) {
+            slots.add(new LinkedHashMap<>());
+        }
+        this.cursor = start;
+    }
+
+    /**
+     * Schedules an entry, replacing any previous entry of the same customer.
+     *
+     * @param entry entry to schedule
+     * @return false if the entry is due after the window and was not scheduled
+     */
+    boolean schedule(Entry entry) {
+        cancel(entry.customerId());
+        if (!entry.fireDate().isBefore(end())) {
+            return false;
+        }
+        bucket(entry.fireDate()).put(entry.customerId(), entry);
+        entries.put(entry.customerId(), entry);
+        return true;
+    }
+
+    /**
+     * Schedules an entry unless the customer already has one.
+     *
+     * @param entry entry to schedule
+     * @return true if the entry was scheduled
+     */
+    boolean scheduleIfAbsent(Entry entry) {
+        return !entries.containsKey(entry.customerId()) && schedule(entry);
+    }
+
+    /**
+     * Removes the entry of a customer, if any.
+     *
+     * @param customerId customer ID
+     */
+    void cancel(Long customerId) {
+        Entry previous = entries.remove(customerId);
+        if (previous != null) {
+            bucket(previous.fireDate()).remove(customerId);
+        }
+    }
+
+    /**
+     * Moves the cursor past the given day and removes every entry due until then.
+     *
+     * @param today last day to fire
+     * @return due entries, overdue ones first and then in day order
+     */
+    List<Entry> advance(LocalDate today) {
+        List<Entry> due = new ArrayList<>(overdue.values());
+        overdue.clear();
+        while (!cursor.isAfter(today)) {
+            Map<Long, Entry> slot = slots.get(slotIndex(cursor));
+            due.addAll(slot.values());
+            slot.clear();
+            cursor = cursor.plusDays(1);
+        }
+        due.forEach(entry -> entries.remove(entry.customerId()));
+        return due;
+    }
+
+    /**
+     * @return first day after the window, entries due on or after it are not accepted
+     */
+    LocalDate end() {
+        return cursor.plusDays(days);
+    }
+
+    /**
+     * @return number of scheduled entries
+     */
+    int size() {
+        return entries.size();
+    }
+
+    private Map<Long, Entry> bucket(LocalDate fireDate) {
+        return fireDate.isBefore(cursor) ? overdue : slots.get(slotIndex(fireDate));
+    }
+
+    private int slotIndex(LocalDate day) {
+        return (int) Math.floorMod(day.toEpochDay(), (long) days);
+    }
+}
@@ -0,0 +1,155 @@
+package customer_management_service.service;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Scalable Bloom filter of {@code long} keys (Almeida et al., 2007). Keys are added to the
+ * newest of a series of plain Bloom filters; once it holds its capacity, a new one twice as
+ * large with half the false positive rate is appended, so the overall false positive rate
+ * stays below the target however many keys are added. A key that was added is always
+ * reported as possibly present; a key reported absent was never added. Keys cannot be
+ * removed, the owner rebuilds the filter instead.
+ * Lookups are lock-free and may run concurrently with {@link #put}, which is synchronized.
+ */
+final class ScalableBloomFilter {
+
+    private static final int GROWTH_FACTOR = 2;
+    private static final double TIGHTENING_RATIO = 0.5;
+    private static final double LN2_SQUARED = Math.log(2) * Math.log(2);
+
+    private volatile Slice[] slices;
+    private long size;
+
+    /**
+     * @param initialCapacity keys the first filter holds at the target false positive rate
+     * @param falsePositiveRate target overall false positive rate
+     */
+    ScalableBloomFilter(int initialCapacity, double falsePositiveRate) {
+        if (initialCapacity < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid Bloom filter capacity or false positive rate");
+        }
+        // The rates of the slices form a geometric series that sums up to the target
+        this.slices = new Slice[] {new Slice(initialCapacity, falsePositiveRate * (1 - TIGHTENING_RATIO))};
+    }
+
+    /**
+     * @param key key to look up
+     * @return false if the key was definitely never added
+     */
+    boolean mightContain(long key) {
+        long h1 = mix(key);
+        long h2 = mix(h1) | 1;
+        for (Slice slice : slices) {
+            if (slice.mightContain(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a key, growing the filter when the newest slice is full.
+     *
+     * @param key key to add
+     */
+    synchronized void put(long key) {
+        long h1 = mix(key);
+        long h2 = mix(h1) | 1;
+        Slice[] current = slices;
+        for (Slice slice : current) {
+            if (slice.mightContain(h1, h2)) {
+                return;
+            }
+        }
+        Slice last = current[current.length - 1];
+        if (last.count >= last.capacity) {
+            last = new Slice(
+                (int) Math.min(Integer.MAX_VALUE, (long) last.capacity * GROWTH_FACTOR),
+                last.falsePositiveRate * TIGHTENING_RATIO);
+            Slice[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = last;
+            slices = grown;
+        }
+        last.put(h1, h2);
+        size++;
+    }
+
+    /**
+     * @return number of keys added, not counting those the filter already reported as present
+     */
+    synchronized long size() {
+        return size;
+    }
+
+    /**
+     * @return number of plain Bloom filters
+     */
+    int sliceCount() {
+        return slices.length;
+    }
+
+    /**
+     * @return heap used by the bit arrays
+     */
+    long bitSetBytes() {
+        long bytes = 0;
+        for (Slice slice : slices) {
+            bytes += slice.words.length() * (long) Long.BYTES;
+        }
+        return bytes;
+    }
+
+    /**
+     * Finalizer of the 64-bit MurmurHash3, spreads sequential IDs over the whole range.
+     */
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    /**
+     * Plain Bloom filter sized for its capacity and false positive rate, probed with
+     * double hashing ({@code h1 + i * h2}).
+     */
+    private static final class Slice {
+
+        private final int capacity;
+        private final double falsePositiveRate;
+        private final long bits;
+        private final int hashes;
+        private final AtomicLongArray words;
+        private int count;
+
+        Slice(int capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            this.bits = Math.max(Long.SIZE, (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / LN2_SQUARED));
+            this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * Math.log(2)));
+            this.words = new AtomicLongArray((int) ((bits + Long.SIZE - 1) / Long.SIZE));
+        }
+
+        boolean mightContain(long h1, long h2) {
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bits);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void put(long h1, long h2) {
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bits);
+                long mask = 1L << bit;
+                words.getAndAccumulate((int) (bit >>> 6), mask, (word, m) -> word | m);
+            }
+            count++;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package customer_management_service.validation;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HexFormat;
+
+/**
+ * Identity of a customer for duplicate detection: the SHA-256 of the first and last names
+ * normalized by {@link NameNormalizer} plus the birth date. Names that differ only in case,
+ * accents or spacing ("José  Pérez", "jose perez") get the same fingerprint.
+ */
+public final class CustomerFingerprint {
+
+    /** Length of the hex encoded fingerprint. */
+    public static final int LENGTH = 64;
+
+    private static final char FIELD_SEPARATOR = '|';
+
+    private CustomerFingerprint() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * @param firstName first name, as entered or stored
+     * @param lastName last name, as entered or stored
+     * @param birthDate birth date
+     * @return the hex encoded fingerprint
+     */
+    public static String of(String firstName, String lastName, LocalDate birthDate) {
+        String key = String.join(" ", NameNormalizer.tokens(firstName)) + FIELD_SEPARATOR
+            + String.join(" ", NameNormalizer.tokens(lastName)) + FIELD_SEPARATOR
+            + birthDate;
+        return HexFormat.of().formatHex(sha256().digest(key.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
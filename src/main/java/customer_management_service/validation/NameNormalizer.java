@@ -0,0 +1,66 @@
+package customer_management_service.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Normalizes customer names for search over the {@link ValidationConstants#NAME_PATTERN} alphabet.
+ * Letters are lower-cased and accents folded (á→a, é→e, í→i, ó→o, ú→u, ñ→n), so "Núñez",
+ * "nunez" and "NUÑEZ" all normalize to the same token. Any character outside the alphabet
+ * acts as a word separator.
+ */
+public final class NameNormalizer {
+
+    private NameNormalizer() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Splits a name into normalized words.
+     *
+     * @param name raw name or query, may be null
+     * @return normalized words in order of appearance, empty if there are none
+     */
+    public static List<String> tokens(String name) {
+        List<String> tokens = new ArrayList<>();
+        if (name == null) {
+            return tokens;
+        }
+
+        StringBuilder token = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char folded = fold(name.charAt(i));
+            if (folded != 0) {
+                token.append(folded);
+            } else if (!token.isEmpty()) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        if (!token.isEmpty()) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    /**
+     * @return the normalized letter, or 0 if the character is not part of the name alphabet
+     */
+    private static char fold(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c;
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return (char) (c + ('a' - 'A'));
+        }
+        return switch (c) {
+            case 'á', 'Á' -> 'a';
+            case 'é', 'É' -> 'e';
+            case 'í', 'Í' -> 'i';
+            case 'ó', 'Ó' -> 'o';
+            case 'ú', 'Ú' -> 'u';
+            case 'ñ', 'Ñ' -> 'n';
+            default -> 0;
+        };
+    }
+}
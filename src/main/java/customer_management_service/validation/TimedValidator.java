@@ -0,0 +1,46 @@
+package customer_management_service.validation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.validation.Errors;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+/**
+ * Bean Validation adapter that records how long each validation pass takes.
+ * Publishes the {@code customer.validation} timer tagged with the validated type and
+ * whether the object was valid, so the cost of constraints such as the name pattern
+ * and {@link AgeMatchesBirthDate} shows up separately from the request time.
+ */
+public class TimedValidator extends SpringValidatorAdapter {
+
+    private static final String METRIC_NAME = "customer.validation";
+
+    private final MeterRegistry meterRegistry;
+
+    public TimedValidator(jakarta.validation.Validator targetValidator, MeterRegistry meterRegistry) {
+        super(targetValidator);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        super.validate(target, errors);
+        stop(sample, target, errors);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        super.validate(target, errors, validationHints);
+        stop(sample, target, errors);
+    }
+
+    private void stop(Timer.Sample sample, Object target, Errors errors) {
+        sample.stop(Timer.builder(METRIC_NAME)
+            .description("Bean Validation of request bodies")
+            .tag("type", target.getClass().getSimpleName())
+            .tag("outcome", errors.hasErrors() ? "invalid" : "valid")
+            .register(meterRegistry));
+    }
+}
@@ -18,6 +18,12 @@ public final class ValidationConstants {
     public static final int MIN_AGE = 0;
     public static final int MAX_AGE = 150;
     
+    // Constants for batch lookups
+    public static final int MAX_BATCH_GET_IDS = 5000;
+    
+    // Constants for idempotency keys
+    public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+    
     // Error messages
     public static final String FIRST_NAME_REQUIRED = "First name is required";
     public static final String LAST_NAME_REQUIRED = "Last name is required";
@@ -31,4 +37,14 @@ public final class ValidationConstants {
     public static final String AGE_MIN_MESSAGE = "Age must be greater than or equal to " + MIN_AGE;
     public static final String AGE_MAX_MESSAGE = "Age must be less than or equal to " + MAX_AGE;
     public static final String BIRTH_DATE_PAST = "Birth date must be in the past";
+    
+    public static final String BATCH_GET_IDS_REQUIRED = "At least one customer ID is required";
+    public static final String BATCH_GET_IDS_SIZE = "At most " + MAX_BATCH_GET_IDS + " customer IDs can be requested at once";
+    public static final String BATCH_GET_ID_REQUIRED = "Customer IDs cannot be null";
+    
+    public static final String DUPLICATE_CUSTOMER = "A customer with the same name and birth date already exists";
+    
+    public static final String IDEMPOTENCY_KEY_LENGTH = "The Idempotency-Key header must be between 1 and " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters long";
+    public static final String IDEMPOTENCY_KEY_REUSED = "The Idempotency-Key was already used for a different request";
+    public static final String IDEMPOTENCY_KEY_IN_PROGRESS = "A request with the same Idempotency-Key is still being processed";
 } 
\ No newline at end of file
@@ -0,0 +1,137 @@
+package customer_management_service.config;
+
+import customer_management_service.exception.DataConflictException;
+import customer_management_service.exception.InvalidDataException;
+import customer_management_service.model.IdempotencyRecord;
+import customer_management_service.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("DatabaseIdempotencyStore Tests")
+class DatabaseIdempotencyStoreTest {
+
+    @Mock
+    private IdempotencyRecordRepository repository;
+
+    private DatabaseIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        store = new DatabaseIdempotencyStore(repository, Duration.ofHours(1), Duration.ofMillis(100),
+            Duration.ofMinutes(1), Duration.ofMillis(10));
+    }
+
+    @Test
+    @DisplayName("Should acquire a key by inserting its row")
+    void shouldAcquireNewKey() {
+        // Given
+        when(repository.insertPending(eq("key"), eq("hash"), any(), any())).thenReturn(1);
+
+        // Then
+        assertTrue(store.acquire("key", "hash").isEmpty());
+        verify(repository, never()).findCurrent(anyString());
+    }
+
+    @Test
+    @DisplayName("Should replay the response stored by another instance")
+    void shouldReplayStoredResponse() {
+        // Given
+        keyTaken();
+        when(repository.findCurrent("key")).thenReturn(Optional.of(record("hash", 200, now())));
+
+        // When
+        IdempotentResponse response = store.acquire("key", "hash").orElseThrow();
+
+        // Then
+        assertEquals(200, response.status());
+        assertEquals("{}", new String(response.body(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should wait for the request in flight until its response is stored")
+    void shouldPollRequestInFlight() {
+        // Given
+        keyTaken();
+        when(repository.findCurrent("key")).thenReturn(
+            Optional.of(record("hash", null, now())),
+            Optional.of(record("hash", 201, now())));
+
+        // Then
+        assertEquals(201, store.acquire("key", "hash").orElseThrow().status());
+        verify(repository, times(2)).findCurrent("key");
+    }
+
+    @Test
+    @DisplayName("Should give up on a request in flight after the wait timeout")
+    void shouldTimeOutWaitingForRequestInFlight() {
+        // Given
+        keyTaken();
+        when(repository.findCurrent("key")).thenReturn(Optional.of(record("hash", null, now())));
+
+        // Then
+        assertThrows(DataConflictException.class, () -> store.acquire("key", "hash"));
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for another request")
+    void shouldRejectKeyReusedForAnotherRequest() {
+        // Given
+        keyTaken();
+        when(repository.findCurrent("key")).thenReturn(Optional.of(record("other", 200, now())));
+
+        // Then
+        assertThrows(InvalidDataException.class, () -> store.acquire("key", "hash"));
+    }
+
+    @Test
+    @DisplayName("Should take over a key abandoned by a stopped instance")
+    void shouldTakeOverAbandonedKey() {
+        // Given
+        when(repository.insertPending(eq("key"), eq("hash"), any(), any()))
+            .thenThrow(new DataIntegrityViolationException("duplicate key"))
+            .thenReturn(1);
+        when(repository.findCurrent("key")).thenReturn(Optional.of(record("other", null, now().minusMinutes(5))));
+
+        // Then
+        assertTrue(store.acquire("key", "hash").isEmpty());
+        verify(repository).deleteStale(eq("key"), any(), any());
+    }
+
+    private void keyTaken() {
+        when(repository.insertPending(eq("key"), anyString(), any(), any()))
+            .thenThrow(new DataIntegrityViolationException("duplicate key"));
+    }
+
+    private IdempotencyRecord record(String requestHash, Integer status, LocalDateTime createdAt) {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setIdempotencyKey("key");
+        record.setRequestHash(requestHash);
+        record.setStatus(status);
+        record.setContentType("application/json");
+        record.setBody(status != null ? "{}".getBytes(StandardCharsets.UTF_8) : null);
+        record.setCreatedAt(createdAt);
+        record.setExpiresAt(createdAt.plusHours(1));
+        return record;
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,197 @@
+package customer_management_service.config;
+
+import customer_management_service.exception.InvalidDataException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("IdempotencyFilter Tests")
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"firstName\":\"Juan\"}";
+
+    @Mock
+    private HandlerExceptionResolver exceptionResolver;
+
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyFilter filter;
+    private AtomicInteger executions;
+    private int status;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new IdempotencyFilter(
+            new InMemoryIdempotencyStore(Duration.ofHours(1), 100, Duration.ofSeconds(5)), exceptionResolver, meterRegistry);
+        executions = new AtomicInteger();
+        status = HttpServletResponse.SC_OK;
+    }
+
+    @Test
+    @DisplayName("Should replay the stored response without executing the request again")
+    void shouldReplayRetry() throws Exception {
+        // When
+        MockHttpServletResponse first = perform(request("POST", "/api/customers", "key-1", BODY));
+        MockHttpServletResponse retry = perform(request("POST", "/api/customers", "key-1", BODY));
+
+        // Then
+        assertEquals(1, executions.get());
+        assertEquals(200, retry.getStatus());
+        assertEquals("{\"id\":1}", retry.getContentAsString());
+        assertEquals("\"3\"", retry.getHeader("ETag"));
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(1.0, meterRegistry.get("customer.idempotency.requests").tag("result", "replayed").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should pass the body on to the controller")
+    void shouldForwardBody() throws Exception {
+        // When
+        MockHttpServletResponse response = perform(request("POST", "/api/customers", "key-1", BODY));
+
+        // Then
+        assertEquals(BODY, response.getHeader("X-Body"));
+    }
+
+    @Test
+    @DisplayName("Should serve the body to a non-blocking reader")
+    void shouldServeBodyToReadListener() throws Exception {
+        // Given
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        AtomicBoolean allDataRead = new AtomicBoolean();
+        MockHttpServletRequest request = request("POST", "/api/customers", "key-1", BODY);
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), (req, resp) -> {
+            ServletInputStream in = req.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (in.isReady() && !in.isFinished()) {
+                        received.write(in.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allDataRead.set(true);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    fail(t);
+                }
+            });
+        });
+
+        // Then
+        assertEquals(BODY, received.toString(StandardCharsets.UTF_8));
+        assertTrue(allDataRead.get());
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused with a different body")
+    void shouldRejectKeyReusedWithDifferentBody() throws Exception {
+        // Given
+        perform(request("POST", "/api/customers", "key-1", BODY));
+
+        // When
+        perform(request("POST", "/api/customers", "key-1", "{\"firstName\":\"Ana\"}"));
+
+        // Then
+        assertEquals(1, executions.get());
+        verify(exceptionResolver).resolveException(any(), any(), isNull(), any(InvalidDataException.class));
+    }
+
+    @Test
+    @DisplayName("Should execute the retry of a request that failed with a server error")
+    void shouldNotStoreServerErrors() throws Exception {
+        // Given
+        status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        perform(request("POST", "/api/customers", "key-1", BODY));
+        status = HttpServletResponse.SC_OK;
+
+        // When
+        MockHttpServletResponse retry = perform(request("POST", "/api/customers", "key-1", BODY));
+
+        // Then
+        assertEquals(2, executions.get());
+        assertNull(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should leave requests without a key and other endpoints alone")
+    void shouldSkipOtherRequests() throws Exception {
+        // When
+        perform(request("POST", "/api/customers", null, BODY));
+        perform(request("POST", "/api/customers", null, BODY));
+        perform(request("POST", "/api/customers/bulk", "key-1", BODY));
+        perform(request("POST", "/api/customers/bulk", "key-1", BODY));
+
+        // Then
+        assertEquals(4, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should reject an oversized key")
+    void shouldRejectOversizedKey() throws Exception {
+        // When
+        perform(request("PATCH", "/api/customers/1", "k".repeat(256), BODY));
+
+        // Then
+        assertEquals(0, executions.get());
+        verify(exceptionResolver).resolveException(any(), any(), isNull(), any(InvalidDataException.class));
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                executions.incrementAndGet();
+                resp.setHeader("X-Body", new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+                resp.setStatus(status);
+                resp.setContentType("application/json");
+                resp.setHeader("ETag", "\"3\"");
+                resp.getWriter().write("{\"id\":1}");
+            }
+        }));
+        return response;
+    }
+
+    private MockHttpServletRequest request(String method, String path, String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        }
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
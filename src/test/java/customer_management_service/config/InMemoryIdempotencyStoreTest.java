@@ -0,0 +1,98 @@
+package customer_management_service.config;
+
+import customer_management_service.exception.DataConflictException;
+import customer_management_service.exception.InvalidDataException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("InMemoryIdempotencyStore Tests")
+class InMemoryIdempotencyStoreTest {
+
+    private final InMemoryIdempotencyStore store =
+        new InMemoryIdempotencyStore(Duration.ofHours(1), 100, Duration.ofSeconds(5));
+
+    @Test
+    @DisplayName("Should acquire a new key and replay its response afterwards")
+    void shouldReplayCompletedKey() {
+        // When
+        Optional<IdempotentResponse> first = store.acquire("key", "hash");
+        store.complete("key", response("hash"));
+
+        // Then
+        assertTrue(first.isEmpty());
+        IdempotentResponse replayed = store.acquire("key", "hash").orElseThrow();
+        assertEquals(200, replayed.status());
+        assertEquals("{}", new String(replayed.body(), StandardCharsets.UTF_8));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for another request")
+    void shouldRejectKeyReusedForAnotherRequest() {
+        // Given
+        store.acquire("key", "hash");
+
+        // Then
+        assertThrows(InvalidDataException.class, () -> store.acquire("key", "other"));
+        store.complete("key", response("hash"));
+        assertThrows(InvalidDataException.class, () -> store.acquire("key", "other"));
+    }
+
+    @Test
+    @DisplayName("Should make a concurrent request wait for the response of the one in flight")
+    void shouldWaitForRequestInFlight() throws Exception {
+        // Given
+        store.acquire("key", "hash");
+
+        // When
+        CompletableFuture<Optional<IdempotentResponse>> waiting =
+            CompletableFuture.supplyAsync(() -> store.acquire("key", "hash"));
+        Thread.sleep(50);
+        assertFalse(waiting.isDone());
+        store.complete("key", response("hash"));
+
+        // Then
+        assertEquals(200, waiting.get(5, TimeUnit.SECONDS).orElseThrow().status());
+    }
+
+    @Test
+    @DisplayName("Should hand a released key to the request waiting for it")
+    void shouldHandReleasedKeyToWaitingRequest() throws Exception {
+        // Given
+        store.acquire("key", "hash");
+        CompletableFuture<Optional<IdempotentResponse>> waiting =
+            CompletableFuture.supplyAsync(() -> store.acquire("key", "hash"));
+
+        // When
+        Thread.sleep(50);
+        store.release("key");
+
+        // Then
+        assertTrue(waiting.get(5, TimeUnit.SECONDS).isEmpty());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("Should give up waiting after the wait timeout")
+    void shouldTimeOutWaitingForRequestInFlight() {
+        // Given
+        InMemoryIdempotencyStore impatient = new InMemoryIdempotencyStore(Duration.ofHours(1), 100, Duration.ofMillis(20));
+        impatient.acquire("key", "hash");
+
+        // Then
+        assertThrows(DataConflictException.class, () -> impatient.acquire("key", "hash"));
+    }
+
+    private IdempotentResponse response(String requestHash) {
+        return new IdempotentResponse(requestHash, 200, "application/json", null, null,
+            "{}".getBytes(StandardCharsets.UTF_8));
+    }
+}
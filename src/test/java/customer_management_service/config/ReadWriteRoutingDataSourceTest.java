@@ -0,0 +1,94 @@
+package customer_management_service.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReadWriteRoutingDataSource Tests")
+class ReadWriteRoutingDataSourceTest {
+
+    @Mock
+    private ReplicaLagGuard replicaLagGuard;
+
+    private MeterRegistry meterRegistry;
+    private ReadWriteRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource = new ReadWriteRoutingDataSource(
+            h2("routing_primary"), h2("routing_replica"), replicaLagGuard, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the usable replica")
+    void getConnection_ReadOnlyWithUsableReplica_ShouldUseReplica() throws SQLException {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replicaLagGuard.isReplicaUsable()).thenReturn(true);
+
+        // When / Then
+        assertEquals("ROUTING_REPLICA", databaseName());
+        assertEquals(1.0, reads("replica"));
+        assertEquals(0.0, reads("primary"));
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the primary while the replica lags")
+    void getConnection_ReadOnlyWithLaggingReplica_ShouldUsePrimary() throws SQLException {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replicaLagGuard.isReplicaUsable()).thenReturn(false);
+
+        // When / Then
+        assertEquals("ROUTING_PRIMARY", databaseName());
+        assertEquals(0.0, reads("replica"));
+        assertEquals(1.0, reads("primary"));
+    }
+
+    @Test
+    @DisplayName("Should send read-write work to the primary without consulting the guard")
+    void getConnection_ReadWrite_ShouldUsePrimary() throws SQLException {
+        // When / Then
+        assertEquals("ROUTING_PRIMARY", databaseName());
+        assertEquals(0.0, reads("replica"));
+        assertEquals(0.0, reads("primary"));
+    }
+
+    private String databaseName() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getCatalog();
+        }
+    }
+
+    private double reads(String target) {
+        return meterRegistry.get("customer.datasource.reads").tag("target", target).counter().count();
+    }
+
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+}
@@ -0,0 +1,112 @@
+package customer_management_service.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReplicaLagGuard Tests")
+class ReplicaLagGuardTest {
+
+    private JdbcDataSource replica;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        replica = new JdbcDataSource();
+        replica.setURL("jdbc:h2:mem:replica_lag_guard");
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should not use the replica before the first check")
+    void isReplicaUsable_BeforeCheck_ShouldBeFalse() {
+        // Given
+        ReplicaLagGuard guard = guard("SELECT 0");
+
+        // Then
+        assertFalse(guard.isReplicaUsable());
+        assertEquals(0.0, meterRegistry.get("customer.datasource.replica.usable").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should use the replica while its lag is within the maximum")
+    void check_WithLagWithinMaximum_ShouldUseReplica() {
+        // Given
+        ReplicaLagGuard guard = guard("SELECT 0.5");
+
+        // When
+        guard.check();
+
+        // Then
+        assertTrue(guard.isReplicaUsable());
+        assertEquals(0.5, meterRegistry.get("customer.datasource.replica.lag").gauge().value());
+        assertEquals(1.0, meterRegistry.get("customer.datasource.replica.usable").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should stop using the replica when its lag exceeds the maximum")
+    void check_WithLagAboveMaximum_ShouldNotUseReplica() {
+        // Given
+        ReplicaLagGuard guard = guard("SELECT 5");
+
+        // When
+        guard.check();
+
+        // Then
+        assertFalse(guard.isReplicaUsable());
+        assertEquals(5.0, meterRegistry.get("customer.datasource.replica.lag").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should stop using the replica when it cannot be queried")
+    void check_WithFailingQuery_ShouldNotUseReplica() {
+        // Given
+        ReplicaLagGuard guard = guard("SELECT 0");
+        guard.check();
+        ReplicaLagGuard failing = guard("SELECT lag FROM missing_table");
+
+        // When
+        failing.check();
+
+        // Then
+        assertTrue(guard.isReplicaUsable());
+        assertFalse(failing.isReplicaUsable());
+    }
+
+    @Test
+    @DisplayName("Should treat a null lag as no lag")
+    void check_WithNullLag_ShouldUseReplica() {
+        // Given
+        ReplicaLagGuard guard = guard("SELECT CAST(NULL AS DOUBLE)");
+
+        // When
+        guard.check();
+
+        // Then
+        assertTrue(guard.isReplicaUsable());
+    }
+
+    @Test
+    @DisplayName("Should only check connectivity without a lag query")
+    void check_WithoutLagQuery_ShouldUseReachableReplica() {
+        // Given
+        ReplicaLagGuard guard = guard("");
+
+        // When
+        guard.check();
+
+        // Then
+        assertTrue(guard.isReplicaUsable());
+    }
+
+    private ReplicaLagGuard guard(String lagQuery) {
+        return new ReplicaLagGuard(replica, lagQuery, Duration.ofSeconds(1), meterRegistry);
+    }
+}
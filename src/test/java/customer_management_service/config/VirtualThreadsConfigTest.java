@@ -0,0 +1,80 @@
+package customer_management_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("VirtualThreadsConfig Tests")
+class VirtualThreadsConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withUserConfiguration(VirtualThreadsConfig.class)
+        .withPropertyValues("spring.threads.virtual.enabled=true");
+
+    @Test
+    @DisplayName("Should not load when virtual threads are disabled")
+    void shouldNotLoadWhenDisabled() {
+        new ApplicationContextRunner()
+            .withUserConfiguration(VirtualThreadsConfig.class)
+            .run(context -> assertFalse(context.containsBean("virtualThreadsConfig")));
+    }
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    @DisplayName("Should refuse to start before Java 21")
+    void shouldRefuseToStartBeforeJava21() {
+        contextRunner
+            .withBean(DataSource.class, () -> pool(20, 2000))
+            .run(context -> assertTrue(rootMessage(context.getStartupFailure()).contains("Java 21")));
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @DisplayName("Should refuse to start with a connection pool that is too small")
+    void shouldRefuseSmallPool() {
+        contextRunner
+            .withBean(DataSource.class, () -> pool(5, 2000))
+            .run(context -> assertTrue(rootMessage(context.getStartupFailure()).contains("maximum-pool-size")));
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @DisplayName("Should refuse to start with a long connection timeout")
+    void shouldRefuseLongConnectionTimeout() {
+        contextRunner
+            .withBean(DataSource.class, () -> pool(20, 30000))
+            .run(context -> assertTrue(rootMessage(context.getStartupFailure()).contains("connection-timeout")));
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @DisplayName("Should start with the recommended pool settings")
+    void shouldStartWithRecommendedSettings() {
+        contextRunner
+            .withBean(DataSource.class, () -> pool(20, 2000))
+            .run(context -> assertNull(context.getStartupFailure()));
+    }
+
+    private static HikariDataSource pool(int maximumPoolSize, long connectionTimeout) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setConnectionTimeout(connectionTimeout);
+        return dataSource;
+    }
+
+    private static String rootMessage(Throwable failure) {
+        assertNotNull(failure);
+        Throwable cause = failure;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+}
@@ -2,11 +2,23 @@ package customer_management_service.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import customer_management_service.config.TestSecurityConfig;
+import customer_management_service.dto.BulkCustomerResponseDTO;
+import customer_management_service.dto.BulkCustomerResultDTO;
+import customer_management_service.dto.CustomerBatchGetResponseDTO;
 import customer_management_service.dto.CustomerCreateDTO;
 import customer_management_service.dto.CustomerDTO;
+import customer_management_service.dto.CustomerFilterDTO;
+import customer_management_service.dto.CustomerPageDTO;
 import customer_management_service.dto.CustomerUpdateDTO;
 import customer_management_service.dto.CustomerStatsDTO;
+import customer_management_service.exception.DataConflictException;
+import customer_management_service.exception.PreconditionFailedException;
+import customer_management_service.service.CustomerBulkImportService;
+import customer_management_service.service.CustomerExportFormat;
+import customer_management_service.service.CustomerExportService;
 import customer_management_service.service.CustomerService;
+import customer_management_service.service.CustomerVersionLookup;
+import customer_management_service.service.CustomerVersionLookup.CustomerVersion;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,12 +28,24 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -39,6 +63,15 @@ public class CustomerControllerTest {
     @MockBean
     private CustomerService customerService;
 
+    @MockBean
+    private CustomerBulkImportService customerBulkImportService;
+
+    @MockBean
+    private CustomerExportService customerExportService;
+
+    @MockBean
+    private CustomerVersionLookup customerVersionLookup;
+
     private CustomerDTO customerDTO;
     private CustomerCreateDTO customerCreateDTO;
     private CustomerUpdateDTO customerUpdateDTO;
@@ -85,18 +118,107 @@ public class CustomerControllerTest {
     }
 
     @Test
-    void getAllCustomers_ShouldReturnListOfCustomers() throws Exception {
+    void importCustomers_ShouldReturnPerRowResults() throws Exception {
+        // Arrange
+        BulkCustomerResponseDTO response = new BulkCustomerResponseDTO(2, 1, 1, Arrays.asList(
+            BulkCustomerResultDTO.created(0, 1L),
+            BulkCustomerResultDTO.rejected(1, Map.of("age", "Age is required"))
+        ));
+        when(customerBulkImportService.importCustomers(any(InputStream.class))).thenReturn(response);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/customers/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(objectMapper.writeValueAsString(customerCreateDTO) + "\n{}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].id").value(1))
+                .andExpect(jsonPath("$.results[1].errors.age").value("Age is required"));
+    }
+
+    @Test
+    void getAllCustomers_ShouldReturnPageOfCustomers() throws Exception {
         // Arrange
         List<CustomerDTO> customers = Arrays.asList(customerDTO);
-        when(customerService.getAllCustomers()).thenReturn(customers);
+        when(customerService.getAllCustomers(eq("abc"), eq(10), any(CustomerFilterDTO.class))).thenReturn(new CustomerPageDTO(customers, "next"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/customers").param("cursor", "abc").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[0].firstName").value("John"))
+                .andExpect(jsonPath("$.content[0].lastName").value("Doe"))
+                .andExpect(jsonPath("$.content[0].age").value(30))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void getAllCustomers_ShouldBindFilterParameters() throws Exception {
+        // Arrange
+        CustomerFilterDTO expectedFilter = new CustomerFilterDTO(30, 40, LocalDate.of(1980, 1, 1), null,
+                LocalDate.of(2050, 1, 1), "Gó", "age,desc");
+        when(customerService.getAllCustomers(null, null, expectedFilter))
+                .thenReturn(new CustomerPageDTO(List.of(customerDTO), null));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/customers")
+                .param("ageMin", "30")
+                .param("ageMax", "40")
+                .param("bornAfter", "1980-01-01")
+                .param("retiringBefore", "2050-01-01")
+                .param("lastNamePrefix", "Gó")
+                .param("sort", "age,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1));
+    }
+
+    @Test
+    void getCustomersByIds_ShouldReturnFoundAndMissing() throws Exception {
+        // Arrange
+        when(customerService.getCustomersByIds(List.of(1L, 2L)))
+                .thenReturn(new CustomerBatchGetResponseDTO(List.of(customerDTO), List.of(2L)));
 
         // Act & Assert
-        mockMvc.perform(get("/api/customers"))
+        mockMvc.perform(post("/api/customers/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[1,2]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customers[0].id").value(1))
+                .andExpect(jsonPath("$.missingIds[0]").value(2));
+    }
+
+    @Test
+    void getCustomersByIds_ShouldRejectEmptyIds() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/customers/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(customerService);
+    }
+
+    @Test
+    void exportCustomers_ShouldStreamCsvWithGzipWhenAccepted() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/customers/export").param("format", "CSV").header("Accept-Encoding", "gzip, deflate"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].firstName").value("John"))
-                .andExpect(jsonPath("$[0].lastName").value("Doe"))
-                .andExpect(jsonPath("$[0].age").value(30));
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"customers.csv\""));
+
+        verify(customerExportService).export(eq(CustomerExportFormat.CSV), any(OutputStream.class));
+    }
+
+    @Test
+    void exportCustomers_ShouldRejectUnsupportedFormat() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/customers/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(customerExportService);
     }
 
     @Test
@@ -113,6 +235,37 @@ public class CustomerControllerTest {
                 .andExpect(jsonPath("$.age").value(30));
     }
 
+    @Test
+    void getCustomerById_ShouldReturnVersionHeaders() throws Exception {
+        // Arrange
+        CustomerVersion version = new CustomerVersion(1L, 3L, LocalDateTime.of(2024, 1, 15, 14, 45));
+        when(customerVersionLookup.getCustomerVersion(1L)).thenReturn(Optional.of(version));
+        when(customerService.getCustomerById(1L)).thenReturn(customerDTO);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/customers/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + version.eTag() + "\""))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(jsonPath("$.id").value(1));
+        verify(customerVersionLookup).recordGet(CustomerVersionLookup.CUSTOMER_RESOURCE, false);
+    }
+
+    @Test
+    void getCustomerById_WhenETagMatches_ShouldReturnNotModified() throws Exception {
+        // Arrange
+        CustomerVersion version = new CustomerVersion(1L, 3L, LocalDateTime.of(2024, 1, 15, 14, 45));
+        when(customerVersionLookup.getCustomerVersion(1L)).thenReturn(Optional.of(version));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/customers/1")
+                .header("If-None-Match", "\"" + version.eTag() + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(customerService, never()).getCustomerById(anyLong());
+        verify(customerVersionLookup).recordGet(CustomerVersionLookup.CUSTOMER_RESOURCE, true);
+    }
+
     @Test
     void updateCustomer_ShouldReturnUpdatedCustomer() throws Exception {
         // Arrange
@@ -122,18 +275,70 @@ public class CustomerControllerTest {
         updatedCustomer.setLastName("Smith");
         updatedCustomer.setAge(31);
         updatedCustomer.setBirthDate(LocalDate.of(1993, 1, 1));
+        updatedCustomer.setUpdateDate(LocalDateTime.of(2024, 1, 15, 14, 45));
+        updatedCustomer.setVersion(4L);
 
-        when(customerService.updateCustomer(anyLong(), any(CustomerUpdateDTO.class))).thenReturn(updatedCustomer);
+        when(customerService.updateCustomer(anyLong(), any(CustomerUpdateDTO.class), isNull())).thenReturn(updatedCustomer);
 
         // Act & Assert
         mockMvc.perform(patch("/api/customers/1")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(customerUpdateDTO)))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-4\""))
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.firstName").value("Jane"))
                 .andExpect(jsonPath("$.lastName").value("Smith"))
-                .andExpect(jsonPath("$.age").value(31));
+                .andExpect(jsonPath("$.age").value(31))
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @Test
+    void updateCustomer_WithIfMatch_ShouldPassExpectedVersion() throws Exception {
+        // Arrange
+        CustomerDTO updatedCustomer = new CustomerDTO();
+        updatedCustomer.setId(1L);
+        updatedCustomer.setUpdateDate(LocalDateTime.of(2024, 1, 15, 14, 45));
+        updatedCustomer.setVersion(4L);
+        when(customerService.updateCustomer(eq(1L), any(CustomerUpdateDTO.class), eq(Set.of(3L))))
+                .thenReturn(updatedCustomer);
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/customers/1")
+                .header("If-Match", "\"1-3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(currentUpdateDTO())))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-4\""));
+    }
+
+    @Test
+    void updateCustomer_WhenVersionIsStale_ShouldReturnPreconditionFailed() throws Exception {
+        // Arrange
+        when(customerService.updateCustomer(eq(1L), any(CustomerUpdateDTO.class), eq(Set.of(2L))))
+                .thenThrow(new PreconditionFailedException("Customer 1 is at version 3, not the expected one"));
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/customers/1")
+                .header("If-Match", "\"1-2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(currentUpdateDTO())))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+    }
+
+    @Test
+    void updateCustomer_WhenModifiedConcurrently_ShouldReturnConflict() throws Exception {
+        // Arrange
+        when(customerService.updateCustomer(eq(1L), any(CustomerUpdateDTO.class), isNull()))
+                .thenThrow(new DataConflictException("Customer 1 was modified concurrently, retry with its current version"));
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/customers/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(currentUpdateDTO())))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
     }
 
     @Test
@@ -156,6 +361,33 @@ public class CustomerControllerTest {
                 .andExpect(jsonPath("$.totalCustomers").value(10));
     }
 
+    @Test
+    void getCustomerStats_WhenETagIsStale_ShouldReturnStatsWithNewETag() throws Exception {
+        // Arrange
+        when(customerVersionLookup.getStatsVersion()).thenReturn("a-12c-1d4c");
+        when(customerService.getCustomerStats()).thenReturn(customerStatsDTO);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/customers/stats")
+                .header("If-None-Match", "\"9-10e-1a2b\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"a-12c-1d4c\""))
+                .andExpect(jsonPath("$.totalCustomers").value(10));
+    }
+
+    @Test
+    void getCustomerStats_WhenETagMatches_ShouldReturnNotModified() throws Exception {
+        // Arrange
+        when(customerVersionLookup.getStatsVersion()).thenReturn("a-12c-1d4c");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/customers/stats")
+                .header("If-None-Match", "\"a-12c-1d4c\""))
+                .andExpect(status().isNotModified());
+        verify(customerService, never()).getCustomerStats();
+        verify(customerVersionLookup).recordGet(CustomerVersionLookup.STATS_RESOURCE, true);
+    }
+
     @Test
     void getAverageAge_ShouldReturnAverageAge() throws Exception {
         // Arrange
@@ -177,4 +409,16 @@ public class CustomerControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("5.0"));
     }
-} 
\ No newline at end of file
+
+    /**
+     * @return an update whose age matches its birth date on the day the test runs
+     */
+    private CustomerUpdateDTO currentUpdateDTO() {
+        CustomerUpdateDTO dto = new CustomerUpdateDTO();
+        dto.setFirstName("Jane");
+        dto.setLastName("Smith");
+        dto.setAge(31);
+        dto.setBirthDate(LocalDate.now(ZoneOffset.UTC).minusYears(31).minusDays(1));
+        return dto;
+    }
+}
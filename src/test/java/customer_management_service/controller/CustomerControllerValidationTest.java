@@ -54,8 +54,8 @@ class CustomerControllerValidationTest {
     void shouldReturn400WhenAgeDoesNotMatchBirthDate() throws Exception {
         // Given
         CustomerCreateDTO dto = new CustomerCreateDTO();
-        dto.setFirstName("Juan");
-        dto.setLastName("Pérez");
+        dto.setFirstName("María");
+        dto.setLastName("López");
         dto.setAge(30);
         dto.setBirthDate(LocalDate.now(ZoneOffset.UTC).minusYears(30));
 
@@ -0,0 +1,185 @@
+package customer_management_service.integration;
+
+import customer_management_service.dto.CustomerFilterDTO;
+import customer_management_service.dto.CustomerPageDTO;
+import customer_management_service.service.CustomerService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Checks that every supported listing filter is served by an index on PostgreSQL.
+ * Each test runs a listing through {@link CustomerService}, captures the SQL Hibernate generates
+ * from {@code CustomerSpecifications} and EXPLAINs it. Criteria values are rendered as literals so
+ * the captured statement can be explained on its own; only the row limit stays a bind parameter.
+ * Skipped by default, the target database schema is recreated; run with:
+ * <pre>mvn test -Dtest=CustomerFilterQueryPlanTest -Dpostgres.url=jdbc:postgresql://localhost:5432/customer_plan_test</pre>
+ * and optionally {@code -Dpostgres.username} / {@code -Dpostgres.password}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "postgres.url", matches = ".+")
+class CustomerFilterQueryPlanTest {
+
+    private static final int ROWS = 100_000;
+    private static final int PAGE_SIZE = 50;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getProperty("postgres.url"));
+        registry.add("spring.datasource.username", () -> System.getProperty("postgres.username", "postgres"));
+        registry.add("spring.datasource.password", () -> System.getProperty("postgres.password", "password"));
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.properties.hibernate.criteria.value_handling_mode", () -> "inline");
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector",
+            CapturingStatementInspector.class::getName);
+    }
+
+    /**
+     * Records the customer queries Hibernate prepares, unchanged.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.toLowerCase(Locale.ROOT).contains(" from customers ")) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+
+    @BeforeAll
+    void seed() throws SQLException {
+        jdbcTemplate.update("INSERT INTO customers "
+            + "(id, first_name, last_name, age, birth_date, estimated_event_date, creation_date, update_date, version) "
+            + "SELECT g, 'Juan', initcap(substr(md5(g::text), 1, 8)), g % 100, "
+            + "current_date - (g % 100) * interval '1 year' - (g % 365) * interval '1 day', "
+            + "current_date + (65 - g % 100) * interval '1 year' - (g % 365) * interval '1 day', "
+            + "now() - g * interval '1 minute', now(), 0 "
+            + "FROM generate_series(1, ?) AS g", ROWS);
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new FileSystemResource("docs/migrations/002-customer-filter-indexes.sql"));
+        }
+        jdbcTemplate.execute("ANALYZE customers");
+    }
+
+    @Test
+    @DisplayName("Age range sorted by age uses an index")
+    void ageRange() {
+        CustomerFilterDTO filter = new CustomerFilterDTO();
+        filter.setAgeMin(30);
+        filter.setAgeMax(31);
+        filter.setSort("age");
+
+        assertIndexed(captureListing(null, filter));
+    }
+
+    @Test
+    @DisplayName("Age keyset page uses an index")
+    void ageKeysetPage() {
+        CustomerFilterDTO filter = new CustomerFilterDTO();
+        filter.setAgeMin(30);
+        filter.setAgeMax(31);
+        filter.setSort("age");
+        CustomerPageDTO firstPage = customerService.getAllCustomers(null, PAGE_SIZE, filter);
+        assertNotNull(firstPage.getNextCursor());
+
+        assertIndexed(captureListing(firstPage.getNextCursor(), filter));
+    }
+
+    @Test
+    @DisplayName("Birth date range uses an index")
+    void birthDateRange() {
+        LocalDate today = LocalDate.now();
+        CustomerFilterDTO filter = new CustomerFilterDTO();
+        filter.setBornAfter(today.minusYears(40));
+        filter.setBornBefore(today.minusYears(39).minusMonths(10));
+        filter.setSort("birthDate");
+
+        assertIndexed(captureListing(null, filter));
+    }
+
+    @Test
+    @DisplayName("Retirement horizon uses an index")
+    void retiringBefore() {
+        CustomerFilterDTO filter = new CustomerFilterDTO();
+        filter.setRetiringBefore(LocalDate.now().minusYears(34));
+
+        assertIndexed(captureListing(null, filter));
+    }
+
+    @Test
+    @DisplayName("Case-insensitive last name prefix uses an index")
+    void lastNamePrefix() {
+        CustomerFilterDTO filter = new CustomerFilterDTO();
+        filter.setLastNamePrefix("Ab");
+        filter.setSort("lastName");
+
+        assertIndexed(captureListing(null, filter));
+    }
+
+    @Test
+    @DisplayName("Combined filters use an index")
+    void combinedFilters() {
+        CustomerFilterDTO filter = new CustomerFilterDTO();
+        filter.setAgeMin(30);
+        filter.setAgeMax(40);
+        filter.setLastNamePrefix("Ab");
+
+        assertIndexed(captureListing(null, filter));
+    }
+
+    /**
+     * Runs the listing and returns the single customer query it issued.
+     */
+    private String captureListing(String cursor, CustomerFilterDTO filter) {
+        CapturingStatementInspector.STATEMENTS.clear();
+        customerService.getAllCustomers(cursor, PAGE_SIZE, filter);
+        List<String> statements = List.copyOf(CapturingStatementInspector.STATEMENTS);
+        assertEquals(1, statements.size(), () -> "Expected one customer query, got " + statements);
+        return statements.get(0);
+    }
+
+    private void assertIndexed(String sql) {
+        // The only remaining parameter is the page size plus the look-ahead row
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, PAGE_SIZE + 1));
+        assertFalse(plan.contains("Seq Scan"), () -> "Sequential scan in plan:\n" + sql + "\n" + plan);
+    }
+}
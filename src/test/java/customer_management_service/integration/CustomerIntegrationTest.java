@@ -1,32 +1,44 @@
 package customer_management_service.integration;
 
+import customer_management_service.config.IdempotencyFilter;
 import customer_management_service.config.TestSecurityConfig;
 import customer_management_service.dto.CustomerCreateDTO;
 import customer_management_service.dto.CustomerDTO;
 import customer_management_service.dto.CustomerStatsDTO;
+import customer_management_service.repository.CustomerRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
+@AutoConfigureObservability(tracing = false)
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
 @ActiveProfiles("test")
-@Transactional
 @Import(TestSecurityConfig.class)
 public class CustomerIntegrationTest {
 
@@ -36,11 +48,19 @@ public class CustomerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private FilterRegistrationBean<IdempotencyFilter> idempotencyFilter;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
     private MockMvc mockMvc;
 
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .addFilters(idempotencyFilter.getFilter())
+                .build();
     }
 
     @Test
@@ -76,7 +96,7 @@ public class CustomerIntegrationTest {
         // Act & Assert - Get all customers
         mockMvc.perform(get("/api/customers"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].firstName").value("Juan"));
+                .andExpect(jsonPath("$.content[0].firstName").value("Juan"));
 
         // Act & Assert - Get statistics
         mockMvc.perform(get("/api/customers/stats"))
@@ -121,4 +141,197 @@ public class CustomerIntegrationTest {
                 .content(objectMapper.writeValueAsString(invalidNameDTO)))
                 .andExpect(status().isBadRequest());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void bulkImport_ShouldCreateValidRowsAndRejectInvalidOnes() throws Exception {
+        // Arrange
+        LocalDate birthDate = LocalDate.now(ZoneOffset.UTC).minusYears(30).minusDays(1);
+        String body = objectMapper.writeValueAsString(new CustomerCreateDTO("Ana", "García", 30, birthDate)) + "\n"
+                + objectMapper.writeValueAsString(new CustomerCreateDTO("Luis123", "García", 30, birthDate)) + "\n";
+
+        // Act & Assert
+        String response = mockMvc.perform(post("/api/customers/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("REJECTED"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        // Cleanup
+        Long createdId = objectMapper.readTree(response).at("/results/0/id").asLong();
+        mockMvc.perform(delete("/api/customers/" + createdId))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void export_ShouldStreamEveryCustomerAsCsvAndGzippedNdjson() throws Exception {
+        // Arrange
+        LocalDate birthDate = LocalDate.now(ZoneOffset.UTC).minusYears(30).minusDays(1);
+        CustomerDTO ana = create(new CustomerCreateDTO("Ana", "García", 30, birthDate));
+        CustomerDTO luis = create(new CustomerCreateDTO("Luis", "Núñez", 30, birthDate));
+
+        // Act & Assert - CSV
+        String csv = mockMvc.perform(get("/api/customers/export").param("format", "csv"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("id,firstName,lastName,age,birthDate,estimatedEventDate,creationDate,updateDate,version\r\n"));
+        assertTrue(csv.contains(ana.getId() + ",Ana,García,30," + birthDate + ","));
+        String anaRow = csv.lines().filter(line -> line.startsWith(ana.getId() + ",")).findFirst().orElseThrow();
+        assertTrue(anaRow.endsWith("," + ana.getVersion()), anaRow);
+        assertTrue(csv.contains(luis.getId() + ",Luis,Núñez,30," + birthDate + ","));
+
+        // Act & Assert - gzipped NDJSON
+        byte[] gzipped = mockMvc.perform(get("/api/customers/export").header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            List<CustomerDTO> rows = new ArrayList<>();
+            for (String line : new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\n")) {
+                assertTrue(line.startsWith("{") && line.endsWith("}"), line);
+                rows.add(objectMapper.readValue(line, CustomerDTO.class));
+            }
+            assertTrue(rows.stream().anyMatch(row -> row.getId().equals(luis.getId()) && row.getLastName().equals("Núñez")));
+        }
+
+        // Cleanup
+        mockMvc.perform(delete("/api/customers/" + ana.getId())).andExpect(status().isNoContent());
+        mockMvc.perform(delete("/api/customers/" + luis.getId())).andExpect(status().isNoContent());
+    }
+
+    @Test
+    void conditionalRequests_ShouldUseVersionETags() throws Exception {
+        // Arrange
+        CustomerDTO customer = create(new CustomerCreateDTO(
+            "Ana", "Gómez", 40, LocalDate.now(ZoneOffset.UTC).minusYears(40).minusDays(1)));
+        String path = "/api/customers/" + customer.getId();
+        String original = "\"" + customer.getId() + "-0\"";
+        String updated = "\"" + customer.getId() + "-1\"";
+
+        // Act & Assert - GET returns the version tag, and 304 while it is current
+        mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", original));
+        mockMvc.perform(get(path).header("If-None-Match", original))
+                .andExpect(status().isNotModified());
+
+        // Act & Assert - PATCH at the current version succeeds and returns the next one
+        mockMvc.perform(patch(path)
+                .header("If-Match", original)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"lastName\":\"García\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", updated))
+                .andExpect(jsonPath("$.version").value(1));
+
+        // Act & Assert - a second PATCH based on the original version is rejected
+        mockMvc.perform(patch(path)
+                .header("If-Match", original)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"lastName\":\"López\"}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(get(path).header("If-None-Match", original))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastName").value("García"));
+    }
+
+    @Test
+    void duplicateCreate_ShouldReturnConflictUntilTheOriginalIsDeleted() throws Exception {
+        // Arrange
+        LocalDate birthDate = LocalDate.now(ZoneOffset.UTC).minusYears(50).minusDays(1);
+        CustomerDTO original = create(new CustomerCreateDTO("Marta", "Ríos", 50, birthDate));
+        String duplicate = objectMapper.writeValueAsString(new CustomerCreateDTO("MARTA ", "rios", 50, birthDate));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/customers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(duplicate))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(delete("/api/customers/" + original.getId()))
+                .andExpect(status().isNoContent());
+        CustomerDTO recreated = create(new CustomerCreateDTO("MARTA ", "rios", 50, birthDate));
+
+        // Cleanup
+        mockMvc.perform(delete("/api/customers/" + recreated.getId()))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void retriedCreateWithIdempotencyKey_ShouldReplayTheFirstResponse() throws Exception {
+        // Arrange
+        LocalDate birthDate = LocalDate.now(ZoneOffset.UTC).minusYears(41).minusDays(1);
+        String body = objectMapper.writeValueAsString(new CustomerCreateDTO("Rosa", "Vidal", 41, birthDate));
+        long customersBefore = customerRepository.count();
+
+        // Act
+        String first = mockMvc.perform(post("/api/customers")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "create-rosa-vidal")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+        String retry = mockMvc.perform(post("/api/customers")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "create-rosa-vidal")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        // Assert
+        assertEquals(first, retry);
+        assertEquals(customersBefore + 1, customerRepository.count());
+        mockMvc.perform(post("/api/customers")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "create-rosa-vidal")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body.replace("Rosa", "Rita")))
+                .andExpect(status().isBadRequest());
+
+        // Cleanup
+        mockMvc.perform(delete("/api/customers/" + objectMapper.readValue(first, CustomerDTO.class).getId()))
+                .andExpect(status().isNoContent());
+    }
+
+    private CustomerDTO create(CustomerCreateDTO customer) throws Exception {
+        String response = mockMvc.perform(post("/api/customers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(customer)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+        return objectMapper.readValue(response, CustomerDTO.class);
+    }
+
+    @Test
+    void prometheusEndpoint_ShouldExposeServiceAndValidationTimers() throws Exception {
+        // Arrange - one invalid request and one service call
+        mockMvc.perform(post("/api/customers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"\",\"lastName\":\"Pérez\",\"age\":30}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/customers/stats"))
+                .andExpect(status().isOk());
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("customer_validation_seconds_count{")))
+                .andExpect(content().string(containsString("customer_service_seconds_bucket{")))
+                .andExpect(content().string(containsString("method=\"getCustomerStats\"")));
+    }
+}
@@ -0,0 +1,205 @@
+package customer_management_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import customer_management_service.dto.BulkCustomerResponseDTO;
+import customer_management_service.dto.BulkCustomerResultDTO;
+import customer_management_service.dto.CustomerCreateDTO;
+import customer_management_service.dto.CustomerDTO;
+import customer_management_service.exception.DataConflictException;
+import customer_management_service.validation.CustomerFingerprint;
+import customer_management_service.validation.ValidationConstants;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CustomerBulkImportService Tests")
+class CustomerBulkImportServiceTest {
+
+    @Mock
+    private CustomerService customerService;
+
+    @Mock
+    private CustomerFingerprintIndex customerFingerprintIndex;
+
+    private ObjectMapper objectMapper;
+    private CustomerBulkImportService bulkImportService;
+
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        bulkImportService = new CustomerBulkImportService(
+            customerService, customerFingerprintIndex, objectMapper, Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(bulkImportService, "chunkSize", 2);
+
+        when(customerService.createCustomers(anyList())).thenAnswer(invocation -> {
+            List<CustomerCreateDTO> rows = invocation.getArgument(0);
+            return rows.stream().map(row -> {
+                CustomerDTO dto = new CustomerDTO();
+                dto.setId(ids.incrementAndGet());
+                return dto;
+            }).toList();
+        });
+    }
+
+    @Test
+    @DisplayName("Should import an NDJSON stream in chunks")
+    void shouldImportNdjsonInChunks() {
+        // Given
+        String body = row("Juan", 30) + "\n" + row("María", 40) + "\n" + row("José", 50) + "\n";
+
+        // When
+        BulkCustomerResponseDTO response = bulkImportService.importCustomers(stream(body));
+
+        // Then
+        assertEquals(3, response.getReceived());
+        assertEquals(3, response.getCreated());
+        assertEquals(0, response.getRejected());
+        assertEquals(List.of(1L, 2L, 3L), response.getResults().stream().map(BulkCustomerResultDTO::getId).toList());
+        verify(customerService, times(2)).createCustomers(anyList());
+    }
+
+    @Test
+    @DisplayName("Should import a JSON array and report invalid rows in order")
+    void shouldImportJsonArrayAndRejectInvalidRows() {
+        // Given
+        String body = "[" + row("Juan", 30) + "," + row("Juan123", 30) + "," + row("Ana", 200) + "]";
+
+        // When
+        BulkCustomerResponseDTO response = bulkImportService.importCustomers(stream(body));
+
+        // Then
+        assertEquals(3, response.getReceived());
+        assertEquals(1, response.getCreated());
+        assertEquals(2, response.getRejected());
+        List<BulkCustomerResultDTO> results = response.getResults();
+        assertEquals(BulkCustomerResultDTO.Status.CREATED, results.get(0).getStatus());
+        assertEquals(BulkCustomerResultDTO.Status.REJECTED, results.get(1).getStatus());
+        assertTrue(results.get(1).getErrors().containsKey("firstName"));
+        assertEquals(2, results.get(2).getIndex());
+        assertTrue(results.get(2).getErrors().containsKey("age"));
+    }
+
+    @Test
+    @DisplayName("Should stop at a malformed row and keep the rows before it")
+    void shouldStopAtMalformedRow() {
+        // Given
+        String body = row("Juan", 30) + "\n{\"firstName\": \n";
+
+        // When
+        BulkCustomerResponseDTO response = bulkImportService.importCustomers(stream(body));
+
+        // Then
+        assertEquals(2, response.getReceived());
+        assertEquals(1, response.getCreated());
+        assertEquals(BulkCustomerResultDTO.Status.REJECTED, response.getResults().get(1).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should reject duplicate rows without failing their chunk")
+    void shouldRejectDuplicateRows() {
+        // Given
+        String existing = row("Ana", 40);
+        when(customerFingerprintIndex.contains(fingerprint(existing))).thenReturn(true);
+        String body = row("Juan", 30) + "\n" + row("JUAN", 30) + "\n" + existing + "\n" + row("María", 50) + "\n";
+
+        // When
+        BulkCustomerResponseDTO response = bulkImportService.importCustomers(stream(body));
+
+        // Then
+        assertEquals(2, response.getCreated());
+        assertEquals(2, response.getRejected());
+        List<BulkCustomerResultDTO> results = response.getResults();
+        assertEquals(BulkCustomerResultDTO.Status.CREATED, results.get(0).getStatus());
+        assertEquals(ValidationConstants.DUPLICATE_CUSTOMER, results.get(1).getErrors().get("validation"));
+        assertEquals(ValidationConstants.DUPLICATE_CUSTOMER, results.get(2).getErrors().get("validation"));
+        assertEquals(BulkCustomerResultDTO.Status.CREATED, results.get(3).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should reject the rows of a chunk that fail to persist on their own too")
+    void shouldRejectFailedChunk() {
+        // Given
+        when(customerService.createCustomers(anyList())).thenThrow(new IllegalStateException("database down"));
+        when(customerService.createCustomer(any())).thenThrow(new IllegalStateException("database down"));
+
+        // When
+        BulkCustomerResponseDTO response = bulkImportService.importCustomers(stream(row("Juan", 30)));
+
+        // Then
+        assertEquals(0, response.getCreated());
+        assertEquals(1, response.getRejected());
+        assertEquals("Customer could not be persisted, retry the row",
+            response.getResults().get(0).getErrors().get("validation"));
+    }
+
+    @Test
+    @DisplayName("Should retry a failed chunk row by row and reject only the offending row")
+    void shouldRetryFailedChunkRowByRow() {
+        // Given - the second row loses the fingerprint race against a concurrent insert
+        String first = row("Juan", 30);
+        String second = row("María", 40);
+        when(customerService.createCustomers(anyList()))
+            .thenThrow(new DataConflictException(ValidationConstants.DUPLICATE_CUSTOMER));
+        when(customerService.createCustomer(any())).thenAnswer(invocation -> {
+            CustomerCreateDTO customer = invocation.getArgument(0);
+            if (customer.getFirstName().equals("María")) {
+                throw new DataConflictException(ValidationConstants.DUPLICATE_CUSTOMER);
+            }
+            CustomerDTO dto = new CustomerDTO();
+            dto.setId(ids.incrementAndGet());
+            return dto;
+        });
+
+        // When
+        BulkCustomerResponseDTO response = bulkImportService.importCustomers(stream(first + "\n" + second + "\n"));
+
+        // Then
+        assertEquals(1, response.getCreated());
+        assertEquals(1, response.getRejected());
+        List<BulkCustomerResultDTO> results = response.getResults();
+        assertEquals(BulkCustomerResultDTO.Status.CREATED, results.get(0).getStatus());
+        assertEquals(ValidationConstants.DUPLICATE_CUSTOMER, results.get(1).getErrors().get("validation"));
+        verify(customerService, times(2)).createCustomer(any());
+    }
+
+    private String row(String firstName, int age) {
+        LocalDate birthDate = LocalDate.now(ZoneOffset.UTC).minusYears(age).minusDays(1);
+        return String.format("{\"firstName\":\"%s\",\"lastName\":\"Pérez\",\"age\":%d,\"birthDate\":\"%s\"}",
+            firstName, age, birthDate);
+    }
+
+    private String fingerprint(String row) {
+        try {
+            CustomerCreateDTO customer = objectMapper.readValue(row, CustomerCreateDTO.class);
+            return CustomerFingerprint.of(customer.getFirstName(), customer.getLastName(), customer.getBirthDate());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,110 @@
+package customer_management_service.service;
+
+import customer_management_service.config.CacheConfig;
+import customer_management_service.dto.CustomerDTO;
+import customer_management_service.event.CustomerChangedEvent;
+import customer_management_service.event.CustomerSnapshot;
+import customer_management_service.model.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("CustomerCacheInvalidator Tests")
+class CustomerCacheInvalidatorTest {
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private Cache cache;
+    private CustomerCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.CUSTOMERS_CACHE);
+        cache = cacheManager.getCache(CacheConfig.CUSTOMERS_CACHE);
+        MockitoAnnotations.openMocks(this);
+        invalidator = new CustomerCacheInvalidator(cacheManager, taskScheduler, 1000);
+    }
+
+    @Test
+    @DisplayName("Should evict the customer after an update")
+    void shouldEvictOnUpdate() {
+        // Given
+        Customer customer = customer(1L);
+        cache.put(1L, new CustomerDTO());
+        CustomerSnapshot before = CustomerSnapshot.of(customer);
+        customer.setFirstName("Jane");
+
+        // When
+        invalidator.onCustomerChanged(CustomerChangedEvent.updated(before, customer));
+
+        // Then
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    @DisplayName("Should evict the customer after a delete")
+    void shouldEvictOnDelete() {
+        // Given
+        cache.put(1L, new CustomerDTO());
+
+        // When
+        invalidator.onCustomerChanged(CustomerChangedEvent.deleted(customer(1L)));
+
+        // Then
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    @DisplayName("Should evict again after the delay, dropping a stale entry cached meanwhile")
+    void shouldEvictAgainAfterDelay() {
+        // Given
+        cache.put(1L, new CustomerDTO());
+        invalidator.onCustomerChanged(CustomerChangedEvent.deleted(customer(1L)));
+        ArgumentCaptor<Runnable> reEviction = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(reEviction.capture(), any(Instant.class));
+
+        // When - a read that loaded the row before the commit caches it after the first eviction
+        cache.put(1L, new CustomerDTO());
+        reEviction.getValue().run();
+
+        // Then
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    @DisplayName("Should leave other customers cached")
+    void shouldLeaveOtherCustomersCached() {
+        // Given
+        cache.put(2L, new CustomerDTO());
+
+        // When
+        invalidator.onCustomerChanged(CustomerChangedEvent.deleted(customer(1L)));
+
+        // Then
+        assertNotNull(cache.get(2L));
+    }
+
+    private Customer customer(Long id) {
+        Customer customer = new Customer();
+        customer.setId(id);
+        customer.setFirstName("John");
+        customer.setLastName("Doe");
+        customer.setAge(30);
+        customer.setBirthDate(LocalDate.now().minusYears(30));
+        return customer;
+    }
+}
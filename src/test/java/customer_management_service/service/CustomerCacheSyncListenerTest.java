@@ -0,0 +1,111 @@
+package customer_management_service.service;
+
+import customer_management_service.config.NodeIdentity;
+import customer_management_service.config.RabbitMQConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.beans.factory.ObjectProvider;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CustomerCacheSyncListener Tests")
+class CustomerCacheSyncListenerTest {
+
+    @Mock
+    private CustomerCacheInvalidator customerCacheInvalidator;
+
+    @Mock
+    private CustomerStatsAggregator customerStatsAggregator;
+
+    @Mock
+    private CustomerNameIndex customerNameIndex;
+
+    @Mock
+    private CustomerFingerprintIndex customerFingerprintIndex;
+
+    @Mock
+    private CustomerIdFilter customerIdFilter;
+
+    @Mock
+    private CustomerRetirementNotifier customerRetirementNotifier;
+
+    @Mock
+    private ObjectProvider<CustomerRetirementNotifier> retirementNotifierProvider;
+
+    private CustomerCacheSyncListener listener;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(retirementNotifierProvider.getIfAvailable()).thenReturn(customerRetirementNotifier);
+        listener = new CustomerCacheSyncListener(new NodeIdentity("local"), customerCacheInvalidator,
+            customerStatsAggregator, customerNameIndex, customerFingerprintIndex, customerIdFilter,
+            retirementNotifierProvider);
+    }
+
+    @Test
+    @DisplayName("Should evict and refresh on another node's update")
+    void shouldEvictOnRemoteUpdate() {
+        // When
+        listener.onCustomerEvent(message("customer.updated", "remote", 5L));
+
+        // Then
+        verify(customerCacheInvalidator).evict(5L);
+        verify(customerNameIndex).refresh(5L);
+        verify(customerFingerprintIndex).refresh(5L);
+        verify(customerRetirementNotifier).refresh(5L);
+        verify(customerStatsAggregator).requestRefresh();
+    }
+
+    @Test
+    @DisplayName("Should evict and drop the search entry on another node's delete")
+    void shouldRemoveFromIndexOnRemoteDelete() {
+        // When
+        listener.onCustomerEvent(message("customer.deleted", "remote", 5L));
+
+        // Then
+        verify(customerCacheInvalidator).evict(5L);
+        verify(customerNameIndex).remove(5L);
+        verify(customerNameIndex, never()).refresh(anyLong());
+        verify(customerFingerprintIndex).remove(5L);
+    }
+
+    @Test
+    @DisplayName("Should index and refresh statistics on another node's create")
+    void shouldOnlyRefreshStatsOnRemoteCreate() {
+        // When
+        listener.onCustomerEvent(message("customer.created", "remote", 5L));
+
+        // Then
+        verify(customerCacheInvalidator, never()).evict(anyLong());
+        verify(customerNameIndex).refresh(5L);
+        verify(customerFingerprintIndex).refresh(5L);
+        verify(customerIdFilter).put(5L);
+        verify(customerStatsAggregator).requestRefresh();
+    }
+
+    @Test
+    @DisplayName("Should skip events produced by this node")
+    void shouldSkipOwnEvents() {
+        // When
+        listener.onCustomerEvent(message("customer.deleted", "local", 5L));
+
+        // Then
+        verifyNoInteractions(customerCacheInvalidator, customerStatsAggregator, customerNameIndex,
+            customerFingerprintIndex, customerIdFilter, customerRetirementNotifier);
+    }
+
+    private Message message(String routingKey, String origin, Long customerId) {
+        MessageProperties properties = new MessageProperties();
+        properties.setReceivedRoutingKey(routingKey);
+        properties.setHeader(RabbitMQConfig.ORIGIN_NODE_HEADER, origin);
+        properties.setHeader(RabbitMQConfig.CUSTOMER_ID_HEADER, customerId);
+        return new Message(new byte[0], properties);
+    }
+}
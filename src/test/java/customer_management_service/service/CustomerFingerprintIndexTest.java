@@ -0,0 +1,175 @@
+package customer_management_service.service;
+
+import customer_management_service.event.CustomerChangedEvent;
+import customer_management_service.event.CustomerSnapshot;
+import customer_management_service.model.Customer;
+import customer_management_service.repository.CustomerIdentity;
+import customer_management_service.repository.CustomerRepository;
+import customer_management_service.validation.CustomerFingerprint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CustomerFingerprintIndex Tests")
+class CustomerFingerprintIndexTest {
+
+    private static final LocalDate BIRTH_DATE = LocalDate.of(1994, 1, 1);
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CustomerFingerprintIndex index;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        index = new CustomerFingerprintIndex(customerRepository, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should give the same fingerprint to names differing in case, accents and spacing")
+    void shouldNormalizeNames() {
+        // Given
+        String fingerprint = CustomerFingerprint.of("José  María", "Pérez", BIRTH_DATE);
+
+        // Then
+        assertEquals(fingerprint, CustomerFingerprint.of(" jose maria ", "PEREZ", BIRTH_DATE));
+        assertNotEquals(fingerprint, CustomerFingerprint.of("José María", "Pérez", BIRTH_DATE.plusDays(1)));
+        assertNotEquals(fingerprint, CustomerFingerprint.of("José", "María Pérez", BIRTH_DATE));
+        assertEquals(CustomerFingerprint.LENGTH, fingerprint.length());
+    }
+
+    @Test
+    @DisplayName("Should follow committed creates, identity changes and deletes")
+    void shouldApplyCustomerChanges() {
+        // Given
+        index.onCustomerChanged(CustomerChangedEvent.created(customer(1L, "Juan", "Pérez", BIRTH_DATE)));
+
+        // Then
+        assertTrue(index.contains(CustomerFingerprint.of("Juan", "Pérez", BIRTH_DATE)));
+
+        // When
+        index.onCustomerChanged(CustomerChangedEvent.updated(
+            CustomerSnapshot.of(customer(1L, "Juan", "Pérez", BIRTH_DATE)), customer(1L, "Juan", "Gómez", BIRTH_DATE)));
+
+        // Then
+        assertFalse(index.contains(CustomerFingerprint.of("Juan", "Pérez", BIRTH_DATE)));
+        assertTrue(index.contains(CustomerFingerprint.of("Juan", "Gómez", BIRTH_DATE)));
+
+        // When
+        index.onCustomerChanged(CustomerChangedEvent.deleted(customer(1L, "Juan", "Gómez", BIRTH_DATE)));
+
+        // Then
+        assertFalse(index.contains(CustomerFingerprint.of("Juan", "Gómez", BIRTH_DATE)));
+        assertEquals(0.0, meterRegistry.get("customer.fingerprint.index.customers").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should build from the database and backfill missing fingerprints")
+    void shouldBuildAndBackfill() {
+        // Given
+        String stored = CustomerFingerprint.of("Juan", "Pérez", BIRTH_DATE);
+        when(customerRepository.findIdentitiesAfter(eq(0L), any(Limit.class))).thenReturn(List.of(
+            identity(1L, "Juan", "Pérez", stored),
+            identity(2L, "María", "Núñez", null)));
+        when(customerRepository.backfillFingerprint(anyLong(), anyString())).thenReturn(1);
+
+        // When
+        index.build();
+
+        // Then
+        assertEquals(2, index.size());
+        assertTrue(index.contains(stored));
+        assertTrue(index.contains(CustomerFingerprint.of("maria", "nunez", BIRTH_DATE)));
+        verify(customerRepository).backfillFingerprint(2L, CustomerFingerprint.of("María", "Núñez", BIRTH_DATE));
+        verify(customerRepository, never()).backfillFingerprint(eq(1L), anyString());
+    }
+
+    @Test
+    @DisplayName("Should keep building when a legacy duplicate cannot be backfilled")
+    void shouldSkipLegacyDuplicateOnBackfill() {
+        // Given
+        when(customerRepository.findIdentitiesAfter(eq(0L), any(Limit.class)))
+            .thenReturn(List.of(identity(1L, "Juan", "Pérez", null), identity(2L, "Ana", "Ruiz", null)));
+        when(customerRepository.backfillFingerprint(eq(1L), anyString()))
+            .thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        // When
+        index.build();
+
+        // Then
+        assertEquals(2, index.size());
+        verify(customerRepository).backfillFingerprint(eq(2L), anyString());
+    }
+
+    @Test
+    @DisplayName("Should drop customers that no longer exist on refresh")
+    void shouldRemoveMissingCustomerOnRefresh() {
+        // Given
+        index.put(1L, CustomerFingerprint.of("Juan", "Pérez", BIRTH_DATE));
+        when(customerRepository.findIdentityById(1L)).thenReturn(Optional.empty());
+
+        // When
+        index.refresh(1L);
+
+        // Then
+        assertEquals(0, index.size());
+        assertFalse(index.contains(CustomerFingerprint.of("Juan", "Pérez", BIRTH_DATE)));
+    }
+
+    private Customer customer(Long id, String firstName, String lastName, LocalDate birthDate) {
+        Customer customer = new Customer();
+        customer.setId(id);
+        customer.setFirstName(firstName);
+        customer.setLastName(lastName);
+        customer.setBirthDate(birthDate);
+        return customer;
+    }
+
+    private CustomerIdentity identity(Long id, String firstName, String lastName, String fingerprint) {
+        return new CustomerIdentity() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getFirstName() {
+                return firstName;
+            }
+
+            @Override
+            public String getLastName() {
+                return lastName;
+            }
+
+            @Override
+            public LocalDate getBirthDate() {
+                return BIRTH_DATE;
+            }
+
+            @Override
+            public String getFingerprint() {
+                return fingerprint;
+            }
+        };
+    }
+}
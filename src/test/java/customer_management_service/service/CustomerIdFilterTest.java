@@ -0,0 +1,115 @@
+package customer_management_service.service;
+
+import customer_management_service.event.CustomerChangedEvent;
+import customer_management_service.model.Customer;
+import customer_management_service.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@DisplayName("CustomerIdFilter Tests")
+class CustomerIdFilterTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CustomerIdFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new CustomerIdFilter(customerRepository, meterRegistry, true, 1000, 0.01);
+        when(customerRepository.findIdsAfter(eq(0L), any(Limit.class))).thenReturn(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    @DisplayName("Should let every ID through until it is built")
+    void shouldAllowEverythingBeforeBuild() {
+        assertTrue(filter.mightExist(99L));
+    }
+
+    @Test
+    @DisplayName("Should rule out IDs missing from the database and count the saved lookups")
+    void shouldRuleOutMissingIds() {
+        // When
+        filter.build();
+
+        // Then
+        assertTrue(filter.mightExist(1L));
+        assertTrue(filter.mightExist(3L));
+        assertFalse(filter.mightExist(99L));
+        assertEquals(1.0, meterRegistry.get("customer.id.filter.saved").counter().count());
+        assertEquals(3.0, meterRegistry.get("customer.id.filter.customers").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should add the IDs of committed creates")
+    void shouldAddCreatedIds() {
+        // Given
+        filter.build();
+        Customer customer = new Customer();
+        customer.setId(99L);
+
+        // When
+        filter.onCustomerChanged(CustomerChangedEvent.created(customer));
+
+        // Then
+        assertTrue(filter.mightExist(99L));
+    }
+
+    @Test
+    @DisplayName("Should add existing customers it missed and count them")
+    void shouldAddConfirmedIds() {
+        // Given
+        filter.build();
+
+        // When
+        filter.confirm(99L);
+        filter.confirm(1L);
+
+        // Then
+        assertTrue(filter.mightExist(99L));
+        assertEquals(1.0, meterRegistry.get("customer.id.filter.missed").counter().count());
+        assertEquals(4.0, meterRegistry.get("customer.id.filter.customers").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should drop deleted IDs on rebuild")
+    void shouldDropDeletedIdsOnRebuild() {
+        // Given
+        filter.build();
+        when(customerRepository.findIdsAfter(eq(0L), any(Limit.class))).thenReturn(List.of(1L, 3L));
+
+        // When
+        filter.rebuild();
+
+        // Then
+        assertFalse(filter.mightExist(2L));
+    }
+
+    @Test
+    @DisplayName("Should never rule out IDs when disabled")
+    void shouldDoNothingWhenDisabled() {
+        // Given
+        CustomerIdFilter disabled = new CustomerIdFilter(customerRepository, new SimpleMeterRegistry(), false, 1000, 0.01);
+
+        // When
+        disabled.build();
+
+        // Then
+        assertTrue(disabled.mightExist(99L));
+    }
+}
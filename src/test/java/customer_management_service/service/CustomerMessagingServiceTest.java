@@ -1,38 +1,46 @@
 package customer_management_service.service;
 
+import customer_management_service.config.NodeIdentity;
+import customer_management_service.event.CustomerCreatedMessage;
+import customer_management_service.event.CustomerSnapshot;
 import customer_management_service.model.Customer;
+import customer_management_service.model.OutboxEvent;
+import customer_management_service.repository.OutboxEventRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @DisplayName("CustomerMessagingService Tests")
 class CustomerMessagingServiceTest {
 
     @Mock
-    private RabbitTemplate rabbitTemplate;
+    private OutboxEventRepository outboxEventRepository;
 
-    @InjectMocks
     private CustomerMessagingService customerMessagingService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        customerMessagingService = new CustomerMessagingService(
+            outboxEventRepository, new CustomerEventCodec("application/json"), new NodeIdentity("node-1"));
     }
 
     @Test
-    @DisplayName("Should send customer created event successfully")
-    void shouldSendCustomerCreatedEventSuccessfully() {
+    @DisplayName("Should queue customer created event in the outbox")
+    void shouldQueueCustomerCreatedEvent() {
         // Given
         Customer customer = new Customer();
         customer.setId(1L);
@@ -45,16 +53,24 @@ class CustomerMessagingServiceTest {
         customerMessagingService.sendCustomerCreatedEvent(customer);
 
         // Then
-        verify(rabbitTemplate).convertAndSend(
-            eq("customer.events"), 
-            eq("customer.created"), 
-            eq(customer)
-        );
+        OutboxEvent event = captureQueuedEvent();
+        assertEquals("customer.events", event.getExchange());
+        assertEquals("customer.created", event.getRoutingKey());
+        assertEquals(1L, event.getAggregateId());
+        assertEquals("node-1", event.getOriginNode());
+        assertEquals("application/json", event.getContentType());
+        assertEquals(CustomerCreatedMessage.class.getName(), event.getPayloadType());
+        String payload = new String(event.getPayload(), StandardCharsets.UTF_8);
+        assertTrue(payload.contains("\"schemaVersion\":1"));
+        assertTrue(payload.contains("\"firstName\":\"John\""));
+        assertTrue(payload.contains("\"birthDate\":\"1994-01-01\""));
+        assertNotNull(event.getCreatedAt());
+        assertNull(event.getPublishedAt());
     }
 
     @Test
-    @DisplayName("Should send customer updated event successfully")
-    void shouldSendCustomerUpdatedEventSuccessfully() {
+    @DisplayName("Should queue customer updated event with only the changed fields")
+    void shouldQueueCustomerUpdatedEvent() throws IOException {
         // Given
         Customer customer = new Customer();
         customer.setId(1L);
@@ -62,74 +78,60 @@ class CustomerMessagingServiceTest {
         customer.setLastName("Smith");
         customer.setAge(31);
         customer.setBirthDate(LocalDate.of(1993, 1, 1));
+        CustomerSnapshot before = CustomerSnapshot.of(customer);
+        customer.setLastName("Brown");
 
         // When
-        customerMessagingService.sendCustomerUpdatedEvent(customer);
+        customerMessagingService.sendCustomerUpdatedEvent(before, customer);
 
         // Then
-        verify(rabbitTemplate).convertAndSend(
-            eq("customer.events"), 
-            eq("customer.updated"), 
-            eq(customer)
-        );
+        OutboxEvent event = captureQueuedEvent();
+        assertEquals("customer.events", event.getExchange());
+        assertEquals("customer.updated", event.getRoutingKey());
+        assertEquals(1L, event.getAggregateId());
+        JsonNode payload = new ObjectMapper().readTree(event.getPayload());
+        assertEquals("lastName", payload.get("changedFields").get(0).asText());
+        assertEquals(1, payload.get("changedFields").size());
+        assertEquals("Brown", payload.get("lastName").asText());
+        assertFalse(payload.has("firstName"));
+        assertFalse(payload.has("birthDate"));
     }
 
     @Test
-    @DisplayName("Should send customer deleted event successfully")
-    void shouldSendCustomerDeletedEventSuccessfully() {
-        // Given
-        Long customerId = 1L;
-
+    @DisplayName("Should queue customer deleted event in the outbox")
+    void shouldQueueCustomerDeletedEvent() {
         // When
-        customerMessagingService.sendCustomerDeletedEvent(customerId);
+        customerMessagingService.sendCustomerDeletedEvent(1L);
 
         // Then
-        verify(rabbitTemplate).convertAndSend(
-            eq("customer.events"), 
-            eq("customer.deleted"), 
-            eq(customerId)
-        );
+        OutboxEvent event = captureQueuedEvent();
+        assertEquals("customer.events", event.getExchange());
+        assertEquals("customer.deleted", event.getRoutingKey());
+        assertEquals(1L, event.getAggregateId());
+        assertEquals("{\"schemaVersion\":1,\"id\":1}", new String(event.getPayload(), StandardCharsets.UTF_8));
     }
 
     @Test
-    @DisplayName("Should handle RabbitMQ exception gracefully")
-    void shouldHandleRabbitMQExceptionGracefully() {
+    @DisplayName("Should encode events with the configured binary content type")
+    void shouldEncodeEventsWithConfiguredContentType() throws IOException {
         // Given
-        Customer customer = new Customer();
-        customer.setId(1L);
-        
-        doThrow(new RuntimeException("RabbitMQ connection failed"))
-            .when(rabbitTemplate).convertAndSend(eq("customer.events"), eq("customer.created"), any(Object.class));
+        customerMessagingService = new CustomerMessagingService(
+            outboxEventRepository, new CustomerEventCodec("application/x-jackson-smile"), new NodeIdentity("node-1"));
 
-        // When & Then
-        // Should not throw exception
-        customerMessagingService.sendCustomerCreatedEvent(customer);
-        
-        // Verify the method was still called
-        verify(rabbitTemplate).convertAndSend(
-            eq("customer.events"), 
-            eq("customer.created"), 
-            eq(customer)
-        );
-    }
+        // When
+        customerMessagingService.sendRetirementApproachingEvent(1L, LocalDate.of(2040, 5, 1));
 
-    @Test
-    @DisplayName("Should handle multiple exceptions gracefully")
-    void shouldHandleMultipleExceptionsGracefully() {
-        // Given
-        Customer customer = new Customer();
-        customer.setId(1L);
-        
-        doThrow(new RuntimeException("Connection failed"))
-            .when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class));
+        // Then
+        OutboxEvent event = captureQueuedEvent();
+        assertEquals("application/x-jackson-smile", event.getContentType());
+        JsonNode payload = new SmileMapper().readTree(event.getPayload());
+        assertEquals(1, payload.get("id").asLong());
+        assertEquals("2040-05-01", payload.get("estimatedEventDate").asText());
+    }
 
-        // When & Then
-        // All methods should handle exceptions gracefully
-        customerMessagingService.sendCustomerCreatedEvent(customer);
-        customerMessagingService.sendCustomerUpdatedEvent(customer);
-        customerMessagingService.sendCustomerDeletedEvent(1L);
-        
-        // Verify all methods were called
-        verify(rabbitTemplate, times(3)).convertAndSend(anyString(), anyString(), any(Object.class));
+    private OutboxEvent captureQueuedEvent() {
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(captor.capture());
+        return captor.getValue();
     }
-} 
\ No newline at end of file
+}
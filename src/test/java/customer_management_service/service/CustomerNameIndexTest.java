@@ -0,0 +1,163 @@
+package customer_management_service.service;
+
+import customer_management_service.dto.CustomerSearchResultDTO;
+import customer_management_service.event.CustomerChangedEvent;
+import customer_management_service.event.CustomerSnapshot;
+import customer_management_service.model.Customer;
+import customer_management_service.repository.CustomerName;
+import customer_management_service.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@DisplayName("CustomerNameIndex Tests")
+class CustomerNameIndexTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CustomerNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        index = new CustomerNameIndex(customerRepository, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should match name prefixes ignoring case and accents")
+    void shouldMatchPrefixesIgnoringCaseAndAccents() {
+        // Given
+        index.upsert(1L, "Juan", "Pérez");
+        index.upsert(2L, "María", "Núñez");
+
+        // Then
+        assertEquals(List.of(1L), ids(index.search("PER", 10)));
+        assertEquals(List.of(2L), ids(index.search("nuñ", 10)));
+        assertEquals(List.of(2L), ids(index.search("Mari", 10)));
+        assertTrue(index.search("ez", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should require every query word to match a name word")
+    void shouldRequireEveryQueryWord() {
+        // Given
+        index.upsert(1L, "Juan", "Pérez");
+        index.upsert(2L, "Juana", "Gómez");
+
+        // Then
+        assertEquals(List.of(1L), ids(index.search("jua pe", 10)));
+        assertEquals(List.of(1L, 2L), ids(index.search("jua", 10)));
+    }
+
+    @Test
+    @DisplayName("Should return at most the requested number of results without duplicates")
+    void shouldLimitResults() {
+        // Given
+        index.upsert(1L, "Ana", "Anaya");
+        index.upsert(2L, "Ana", "López");
+        index.upsert(3L, "Ana", "Ruiz");
+
+        // Then
+        assertEquals(List.of(1L, 2L), ids(index.search("ana", 2)));
+        assertEquals(List.of(1L, 2L, 3L), ids(index.search("an", 10)));
+    }
+
+    @Test
+    @DisplayName("Should replace and remove names on committed changes")
+    void shouldApplyCustomerChanges() {
+        // Given
+        index.onCustomerChanged(CustomerChangedEvent.created(customer(1L, "Juan", "Pérez")));
+
+        // When
+        index.onCustomerChanged(CustomerChangedEvent.updated(
+            CustomerSnapshot.of(customer(1L, "Juan", "Pérez")), customer(1L, "Juan", "Gómez")));
+
+        // Then
+        assertTrue(index.search("perez", 10).isEmpty());
+        assertEquals(List.of(1L), ids(index.search("gomez", 10)));
+
+        // When
+        index.onCustomerChanged(CustomerChangedEvent.deleted(customer(1L, "Juan", "Gómez")));
+
+        // Then
+        assertTrue(index.search("juan", 10).isEmpty());
+        assertEquals(0, index.size());
+        assertEquals(0.0, meterRegistry.get("customer.search.index.memory").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should build the index from the database in batches")
+    void shouldBuildFromDatabase() {
+        // Given
+        when(customerRepository.findNamesAfter(eq(0L), any(Limit.class)))
+            .thenReturn(List.of(name(1L, "Juan", "Pérez"), name(2L, "María", "Núñez")));
+
+        // When
+        index.build();
+
+        // Then
+        assertEquals(2, index.size());
+        assertTrue(meterRegistry.get("customer.search.index.memory").gauge().value() > 0);
+        assertEquals(List.of(2L), ids(index.search("maria", 10)));
+    }
+
+    @Test
+    @DisplayName("Should drop customers that no longer exist on refresh")
+    void shouldRemoveMissingCustomerOnRefresh() {
+        // Given
+        index.upsert(1L, "Juan", "Pérez");
+        when(customerRepository.findNameById(1L)).thenReturn(Optional.empty());
+
+        // When
+        index.refresh(1L);
+
+        // Then
+        assertEquals(0, index.size());
+    }
+
+    private List<Long> ids(List<CustomerSearchResultDTO> results) {
+        return results.stream().map(CustomerSearchResultDTO::getId).toList();
+    }
+
+    private Customer customer(Long id, String firstName, String lastName) {
+        Customer customer = new Customer();
+        customer.setId(id);
+        customer.setFirstName(firstName);
+        customer.setLastName(lastName);
+        return customer;
+    }
+
+    private CustomerName name(Long id, String firstName, String lastName) {
+        return new CustomerName() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getFirstName() {
+                return firstName;
+            }
+
+            @Override
+            public String getLastName() {
+                return lastName;
+            }
+        };
+    }
+}
@@ -0,0 +1,139 @@
+package customer_management_service.service;
+
+import customer_management_service.config.RabbitMQConfig;
+import customer_management_service.model.OutboxEvent;
+import customer_management_service.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpIOException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest(properties = "customer.outbox.relay.enabled=true")
+@ActiveProfiles("test")
+@Import({CustomerOutboxRelay.class, SimpleMeterRegistry.class})
+@DisplayName("CustomerOutboxRelay Tests")
+class CustomerOutboxRelayTest {
+
+    @Autowired
+    private CustomerOutboxRelay relay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private RabbitTemplate rabbitTemplate;
+
+    /** Messages accepted by the stand-in broker. */
+    private final List<Message> published = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // The mocked template acts as a local broker: invoke() runs the callback on a channel
+        // that records every message and confirms them all.
+        when(rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class))).thenAnswer(invocation ->
+            invocation.getArgument(0, RabbitOperations.OperationsCallback.class).doInRabbit(rabbitTemplate));
+        doAnswer(invocation -> published.add(invocation.getArgument(2)))
+            .when(rabbitTemplate).send(anyString(), anyString(), any(Message.class));
+    }
+
+    @Test
+    @DisplayName("Should publish pending events and mark them as published")
+    void shouldPublishPendingEvents() {
+        // Given
+        OutboxEvent first = outboxEventRepository.save(event("customer.created", "{\"id\":1}"));
+        OutboxEvent second = outboxEventRepository.save(event("customer.deleted", "1"));
+        double publishedBefore = publishedCount("success");
+
+        // When
+        int relayed = relay.relayBatch();
+
+        // Then
+        assertEquals(2, relayed);
+        assertEquals(2, published.size());
+        assertEquals(String.valueOf(first.getId()), published.get(0).getMessageProperties().getMessageId());
+        assertEquals(String.valueOf(second.getId()), published.get(1).getMessageProperties().getMessageId());
+        verify(rabbitTemplate).waitForConfirmsOrDie(anyLong());
+        assertNotNull(outboxEventRepository.findById(first.getId()).orElseThrow().getPublishedAt());
+        assertEquals(0, relay.relayBatch());
+        assertEquals(2.0, publishedCount("success") - publishedBefore);
+    }
+
+    @Test
+    @DisplayName("Should send the customer ID and origin node as headers")
+    void shouldSendCustomerAndOriginHeaders() {
+        // Given
+        OutboxEvent event = event("customer.updated", "{\"id\":7}");
+        event.setAggregateId(7L);
+        event.setOriginNode("node-1");
+        outboxEventRepository.save(event);
+
+        // When
+        relay.relayBatch();
+
+        // Then
+        assertEquals(1, published.size());
+        assertEquals(7L, (Long) published.get(0).getMessageProperties().getHeader(RabbitMQConfig.CUSTOMER_ID_HEADER));
+        assertEquals("node-1", published.get(0).getMessageProperties().getHeader(RabbitMQConfig.ORIGIN_NODE_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should keep events pending when the broker does not confirm them")
+    void shouldKeepEventsPendingWhenBrokerFails() {
+        // Given
+        OutboxEvent event = outboxEventRepository.save(event("customer.created", "{\"id\":1}"));
+        double failedBefore = publishedCount("failure");
+        doThrow(new AmqpIOException(new IOException("nack")))
+            .when(rabbitTemplate).waitForConfirmsOrDie(anyLong());
+
+        // When
+        int relayed = relay.relayBatch();
+
+        // Then
+        assertEquals(0, relayed);
+        OutboxEvent pending = outboxEventRepository.findById(event.getId()).orElseThrow();
+        assertNull(pending.getPublishedAt());
+        assertEquals(1, pending.getAttempts());
+        assertNotNull(pending.getLastError());
+        assertEquals(1.0, publishedCount("failure") - failedBefore);
+    }
+
+    private double publishedCount(String outcome) {
+        return meterRegistry.counter("customer.outbox.events", "outcome", outcome).count();
+    }
+
+    private OutboxEvent event(String routingKey, String payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setExchange("customer.events");
+        event.setRoutingKey(routingKey);
+        event.setPayload(payload.getBytes(StandardCharsets.UTF_8));
+        event.setContentType("application/json");
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+}
@@ -0,0 +1,242 @@
+package customer_management_service.service;
+
+import customer_management_service.event.CustomerChangedEvent;
+import customer_management_service.event.CustomerSnapshot;
+import customer_management_service.model.Customer;
+import customer_management_service.repository.CustomerEventDate;
+import customer_management_service.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CustomerRetirementNotifier Tests")
+class CustomerRetirementNotifierTest {
+
+    private static final int NOTICE_DAYS = 30;
+    private static final LocalDate TODAY = LocalDate.now(ZoneOffset.UTC);
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private CustomerMessagingService customerMessagingService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CustomerRetirementNotifier notifier;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Consumer.class).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(customerRepository.markRetirementNotified(anyLong(), any())).thenReturn(1);
+        meterRegistry = new SimpleMeterRegistry();
+        notifier = new CustomerRetirementNotifier(customerRepository, customerMessagingService,
+            transactionTemplate, meterRegistry, NOTICE_DAYS, 10);
+    }
+
+    @Test
+    @DisplayName("Should load the first window and emit notifications when they are due")
+    void shouldLoadWindowAndEmitWhenDue() {
+        // Given
+        LocalDate eventDate = TODAY.plusDays(NOTICE_DAYS + 2);
+        when(customerRepository.findUnnotifiedEventDatesBetween(TODAY.plusDays(NOTICE_DAYS), TODAY.plusDays(NOTICE_DAYS + 10)))
+            .thenReturn(List.of(eventDate(1L, eventDate)));
+
+        // When
+        notifier.initialize();
+        notifier.advance(TODAY.plusDays(1));
+
+        // Then
+        assertEquals(1, notifier.scheduled());
+        verifyNoInteractions(customerMessagingService);
+
+        // When
+        notifier.advance(TODAY.plusDays(2));
+
+        // Then
+        verify(customerMessagingService).sendRetirementApproachingEvent(1L, eventDate);
+        assertEquals(0, notifier.scheduled());
+        assertEquals(1, meterRegistry.get("customer.retirement.fire.lag").timer().count());
+        assertEquals(1.0, meterRegistry.get("customer.retirement.notifications").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should notify on startup the customers whose notice date already passed")
+    void shouldNotifyOverdueCustomersOnStartup() {
+        // Given
+        LocalDate eventDate = TODAY.plusDays(NOTICE_DAYS - 5);
+        when(customerRepository.findUnnotifiedEventDatesBetween(TODAY, TODAY.plusDays(NOTICE_DAYS)))
+            .thenReturn(List.of(eventDate(1L, eventDate)));
+
+        // When
+        notifier.initialize();
+        notifier.advance(TODAY);
+
+        // Then
+        verify(customerMessagingService).sendRetirementApproachingEvent(1L, eventDate);
+        assertEquals(5, meterRegistry.get("customer.retirement.fire.lag").timer().totalTime(TimeUnit.DAYS));
+    }
+
+    @Test
+    @DisplayName("Should only load the days entering the window when it slides")
+    void shouldLoadOnlyNewDaysWhenSliding() {
+        // When
+        notifier.initialize();
+        notifier.advance(TODAY);
+
+        // Then
+        verify(customerRepository).findUnnotifiedEventDatesBetween(TODAY.plusDays(NOTICE_DAYS), TODAY.plusDays(NOTICE_DAYS + 10));
+        verify(customerRepository).findUnnotifiedEventDatesBetween(TODAY.plusDays(NOTICE_DAYS + 10), TODAY.plusDays(NOTICE_DAYS + 11));
+    }
+
+    @Test
+    @DisplayName("Should reschedule when a birth date change moves the event date")
+    void shouldRescheduleOnEventDateChange() {
+        // Given
+        Customer customer = customer(1L, TODAY.plusDays(NOTICE_DAYS + 5));
+        notifier.onCustomerChanged(CustomerChangedEvent.created(customer));
+        CustomerSnapshot before = CustomerSnapshot.of(customer);
+
+        // When - moved inside the notice period
+        customer.setEstimatedEventDate(TODAY.plusDays(3));
+        notifier.onCustomerChanged(CustomerChangedEvent.updated(before, customer));
+        notifier.advance(TODAY);
+
+        // Then
+        verify(customerMessagingService).sendRetirementApproachingEvent(1L, TODAY.plusDays(3));
+    }
+
+    @Test
+    @DisplayName("Should not notify deleted customers")
+    void shouldCancelOnDelete() {
+        // Given
+        Customer customer = customer(1L, TODAY.plusDays(NOTICE_DAYS + 1));
+        notifier.onCustomerChanged(CustomerChangedEvent.created(customer));
+
+        // When
+        notifier.onCustomerChanged(CustomerChangedEvent.deleted(customer));
+        notifier.advance(TODAY.plusDays(1));
+
+        // Then
+        verify(customerMessagingService, never()).sendRetirementApproachingEvent(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should retry notifications on the next tick when emitting fails")
+    void shouldRetryAfterFailure() {
+        // Given
+        notifier.onCustomerChanged(CustomerChangedEvent.created(customer(1L, TODAY.plusDays(NOTICE_DAYS))));
+        doThrow(new IllegalStateException("database down")).doNothing()
+            .when(customerMessagingService).sendRetirementApproachingEvent(anyLong(), any());
+
+        // When
+        notifier.advance(TODAY);
+
+        // Then
+        assertEquals(1, notifier.scheduled());
+
+        // When
+        notifier.advance(TODAY);
+
+        // Then
+        verify(customerMessagingService, times(2)).sendRetirementApproachingEvent(1L, TODAY.plusDays(NOTICE_DAYS));
+        assertEquals(0, notifier.scheduled());
+    }
+
+    @Test
+    @DisplayName("Should skip a notification already sent and not schedule it again")
+    void shouldSkipAlreadyNotified() {
+        // Given
+        LocalDate eventDate = TODAY.plusDays(NOTICE_DAYS);
+        notifier.onCustomerChanged(CustomerChangedEvent.created(customer(1L, eventDate)));
+        when(customerRepository.markRetirementNotified(1L, eventDate)).thenReturn(0);
+        when(customerRepository.findEventDateById(1L)).thenReturn(Optional.of(eventDate(1L, eventDate, eventDate)));
+
+        // When
+        notifier.advance(TODAY);
+
+        // Then
+        verify(customerMessagingService, never()).sendRetirementApproachingEvent(anyLong(), any());
+        assertEquals(0, notifier.scheduled());
+        assertEquals(0.0, meterRegistry.get("customer.retirement.notifications").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should drop a stale entry and schedule the customer's current event date")
+    void shouldRescheduleStaleEntry() {
+        // Given - loaded before a concurrent update moved the event date
+        LocalDate staleDate = TODAY.plusDays(NOTICE_DAYS);
+        LocalDate currentDate = TODAY.plusDays(NOTICE_DAYS + 5);
+        notifier.onCustomerChanged(CustomerChangedEvent.created(customer(1L, staleDate)));
+        when(customerRepository.markRetirementNotified(1L, staleDate)).thenReturn(0);
+        when(customerRepository.findEventDateById(1L)).thenReturn(Optional.of(eventDate(1L, currentDate, null)));
+
+        // When
+        notifier.advance(TODAY);
+
+        // Then
+        verify(customerMessagingService, never()).sendRetirementApproachingEvent(anyLong(), any());
+        assertEquals(1, notifier.scheduled());
+
+        // When
+        notifier.advance(TODAY.plusDays(5));
+
+        // Then
+        verify(customerMessagingService).sendRetirementApproachingEvent(1L, currentDate);
+    }
+
+    private Customer customer(Long id, LocalDate estimatedEventDate) {
+        Customer customer = new Customer();
+        customer.setId(id);
+        customer.setAge(64);
+        customer.setEstimatedEventDate(estimatedEventDate);
+        return customer;
+    }
+
+    private CustomerEventDate eventDate(Long id, LocalDate estimatedEventDate) {
+        return eventDate(id, estimatedEventDate, null);
+    }
+
+    private CustomerEventDate eventDate(Long id, LocalDate estimatedEventDate, LocalDate retirementNotifiedFor) {
+        return new CustomerEventDate() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDate getEstimatedEventDate() {
+                return estimatedEventDate;
+            }
+
+            @Override
+            public LocalDate getRetirementNotifiedFor() {
+                return retirementNotifiedFor;
+            }
+        };
+    }
+}
@@ -1,28 +1,51 @@
 package customer_management_service.service;
 
+import customer_management_service.dto.CustomerBatchGetResponseDTO;
 import customer_management_service.dto.CustomerCreateDTO;
 import customer_management_service.dto.CustomerDTO;
+import customer_management_service.dto.CustomerFilterDTO;
+import customer_management_service.dto.CustomerPageDTO;
+import customer_management_service.dto.CustomerSearchResultDTO;
 import customer_management_service.dto.CustomerUpdateDTO;
 import customer_management_service.dto.CustomerStatsDTO;
+import customer_management_service.event.CustomerChangedEvent;
+import customer_management_service.event.CustomerSnapshot;
+import customer_management_service.exception.CustomerNotFoundException;
+import customer_management_service.exception.DataConflictException;
 import customer_management_service.exception.InvalidDataException;
+import customer_management_service.exception.PreconditionFailedException;
 import customer_management_service.mapper.CustomerMapper;
 import customer_management_service.model.Customer;
 import customer_management_service.repository.CustomerRepository;
+import customer_management_service.validation.CustomerFingerprint;
+import customer_management_service.validation.ValidationConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ActiveProfiles("test")
@@ -37,6 +60,24 @@ class CustomerServiceTest {
     @Mock
     private CustomerMapper customerMapper;
 
+    @Mock
+    private CustomerStatsAggregator customerStatsAggregator;
+
+    @Mock
+    private CustomerNameIndex customerNameIndex;
+
+    @Mock
+    private CustomerFingerprintIndex customerFingerprintIndex;
+
+    @Mock
+    private CustomerIdFilter customerIdFilter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private CustomerService customerService;
 
@@ -117,66 +158,365 @@ class CustomerServiceTest {
     }
 
     @Test
-    void getAllCustomers_ShouldReturnAllCustomers() {
+    void createCustomers_ShouldSaveChunkInOneCallAndPublishEachCustomer() {
+        // Arrange
+        CustomerCreateDTO first = new CustomerCreateDTO("John", "Doe", 30, LocalDate.now().minusYears(30));
+        CustomerCreateDTO second = new CustomerCreateDTO("Jane", "Doe", 40, LocalDate.now().minusYears(40));
+        Customer firstCustomer = new Customer();
+        firstCustomer.setBirthDate(first.getBirthDate());
+        Customer secondCustomer = new Customer();
+        secondCustomer.setBirthDate(second.getBirthDate());
+        List<Customer> customers = Arrays.asList(firstCustomer, secondCustomer);
+
+        when(customerMapper.toEntity(first)).thenReturn(firstCustomer);
+        when(customerMapper.toEntity(second)).thenReturn(secondCustomer);
+        when(customerRepository.saveAll(customers)).thenReturn(customers);
+        when(customerMapper.toDTO(any(Customer.class))).thenReturn(new CustomerDTO());
+
+        // Act
+        List<CustomerDTO> result = customerService.createCustomers(Arrays.asList(first, second));
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(first.getBirthDate().plusYears(65), firstCustomer.getEstimatedEventDate());
+        verify(customerRepository).saveAll(customers);
+        verify(customerRepository, never()).save(any(Customer.class));
+        verify(customerMessagingService, times(2)).sendCustomerCreatedEvent(any(Customer.class));
+        verify(eventPublisher, times(2)).publishEvent(any(CustomerChangedEvent.class));
+    }
+
+    @Test
+    void createCustomer_ShouldStoreFingerprint() {
+        // Arrange
+        CustomerCreateDTO createDTO = new CustomerCreateDTO("José", "Pérez", 30, LocalDate.now().minusYears(30));
+        Customer customer = new Customer();
+        customer.setFirstName("José");
+        customer.setLastName("Pérez");
+        customer.setBirthDate(createDTO.getBirthDate());
+        when(customerMapper.toEntity(createDTO)).thenReturn(customer);
+        when(customerRepository.save(customer)).thenReturn(customer);
+
+        // Act
+        customerService.createCustomer(createDTO);
+
+        // Assert
+        assertEquals(CustomerFingerprint.of("jose", "PEREZ", createDTO.getBirthDate()), customer.getFingerprint());
+        verify(customerRepository).flush();
+    }
+
+    @Test
+    void createCustomer_WhenFingerprintIsKnown_ShouldRejectWithoutQuerying() {
+        // Arrange
+        CustomerCreateDTO createDTO = new CustomerCreateDTO("Juan", "Pérez", 30, LocalDate.now().minusYears(30));
+        Customer customer = new Customer();
+        customer.setFirstName("Juan");
+        customer.setLastName("Pérez");
+        customer.setBirthDate(createDTO.getBirthDate());
+        when(customerMapper.toEntity(createDTO)).thenReturn(customer);
+        when(customerFingerprintIndex.contains(CustomerFingerprint.of("Juan", "Pérez", createDTO.getBirthDate())))
+            .thenReturn(true);
+
+        // Act & Assert
+        DataConflictException exception = assertThrows(DataConflictException.class,
+            () -> customerService.createCustomer(createDTO));
+        assertEquals(ValidationConstants.DUPLICATE_CUSTOMER, exception.getMessage());
+        verifyNoInteractions(customerRepository, customerMessagingService, eventPublisher);
+        assertEquals(1.0, meterRegistry.get("customer.duplicates.rejected").tag("check", "memory").counter().count());
+    }
+
+    @Test
+    void createCustomer_WhenFingerprintConstraintIsViolated_ShouldThrowConflict() {
+        // Arrange
+        CustomerCreateDTO createDTO = new CustomerCreateDTO("Juan", "Pérez", 30, LocalDate.now().minusYears(30));
+        Customer customer = new Customer();
+        customer.setBirthDate(createDTO.getBirthDate());
+        when(customerMapper.toEntity(createDTO)).thenReturn(customer);
+        when(customerRepository.save(customer)).thenReturn(customer);
+        doThrow(new DataIntegrityViolationException("could not execute statement",
+            new IllegalStateException("Unique index or primary key violation: \"PUBLIC.UK_CUSTOMERS_FINGERPRINT\"")))
+            .when(customerRepository).flush();
+
+        // Act & Assert
+        assertThrows(DataConflictException.class, () -> customerService.createCustomer(createDTO));
+        verifyNoInteractions(customerMessagingService, eventPublisher);
+        assertEquals(1.0, meterRegistry.get("customer.duplicates.rejected").tag("check", "constraint").counter().count());
+    }
+
+    @Test
+    void createCustomer_WhenAnotherConstraintIsViolated_ShouldRethrow() {
+        // Arrange
+        CustomerCreateDTO createDTO = new CustomerCreateDTO("Juan", "Pérez", 30, LocalDate.now().minusYears(30));
+        Customer customer = new Customer();
+        customer.setBirthDate(createDTO.getBirthDate());
+        when(customerMapper.toEntity(createDTO)).thenReturn(customer);
+        doThrow(new DataIntegrityViolationException("NULL not allowed for column \"FIRST_NAME\""))
+            .when(customerRepository).flush();
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> customerService.createCustomer(createDTO));
+    }
+
+    @Test
+    void createCustomers_WhenListRepeatsACustomer_ShouldRejectBeforeSaving() {
         // Arrange
-        Customer customer1 = new Customer();
-        Customer customer2 = new Customer();
-        List<Customer> customers = Arrays.asList(customer1, customer2);
+        LocalDate birthDate = LocalDate.now().minusYears(30);
+        CustomerCreateDTO first = new CustomerCreateDTO("Juan", "Pérez", 30, birthDate);
+        CustomerCreateDTO second = new CustomerCreateDTO("JUAN", "Perez", 30, birthDate);
+        when(customerMapper.toEntity(any(CustomerCreateDTO.class))).thenAnswer(invocation -> {
+            CustomerCreateDTO dto = invocation.getArgument(0);
+            Customer customer = new Customer();
+            customer.setFirstName(dto.getFirstName());
+            customer.setLastName(dto.getLastName());
+            customer.setBirthDate(dto.getBirthDate());
+            return customer;
+        });
 
+        // Act & Assert
+        assertThrows(DataConflictException.class, () -> customerService.createCustomers(List.of(first, second)));
+        verify(customerRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void getAllCustomers_ShouldReturnFirstPage() {
+        // Arrange
         CustomerDTO dto1 = new CustomerDTO();
         CustomerDTO dto2 = new CustomerDTO();
         List<CustomerDTO> expectedDTOs = Arrays.asList(dto1, dto2);
 
-        when(customerRepository.findAllByOrderByCreationDateDesc()).thenReturn(customers);
-        when(customerMapper.toDTO(customer1)).thenReturn(dto1);
-        when(customerMapper.toDTO(customer2)).thenReturn(dto2);
+        when(customerRepository.findFirstPage(any(Limit.class))).thenReturn(expectedDTOs);
 
         // Act
-        List<CustomerDTO> result = customerService.getAllCustomers();
+        CustomerPageDTO result = customerService.getAllCustomers(null, null, new CustomerFilterDTO());
 
         // Assert
-        assertEquals(expectedDTOs.size(), result.size());
-        verify(customerRepository).findAllByOrderByCreationDateDesc();
+        assertEquals(expectedDTOs, result.getContent());
+        assertNull(result.getNextCursor());
+        verify(customerRepository).findFirstPage(Limit.of(51));
+        verifyNoInteractions(customerMapper);
+    }
+
+    @Test
+    void getAllCustomers_ShouldReturnCursorThatResumesAfterLastCustomer() {
+        // Arrange
+        LocalDateTime creationDate = LocalDateTime.of(2024, 1, 15, 10, 30);
+        CustomerDTO customer1 = new CustomerDTO();
+        customer1.setId(3L);
+        customer1.setCreationDate(creationDate);
+        CustomerDTO customer2 = new CustomerDTO();
+        customer2.setId(2L);
+        customer2.setCreationDate(creationDate);
+        CustomerDTO extra = new CustomerDTO();
+        extra.setId(1L);
+        extra.setCreationDate(creationDate);
+
+        when(customerRepository.findFirstPage(Limit.of(3)))
+            .thenReturn(Arrays.asList(customer1, customer2, extra));
+
+        // Act
+        CustomerPageDTO firstPage = customerService.getAllCustomers(null, 2, new CustomerFilterDTO());
+        customerService.getAllCustomers(firstPage.getNextCursor(), 2, new CustomerFilterDTO());
+
+        // Assert
+        assertEquals(2, firstPage.getContent().size());
+        assertNotNull(firstPage.getNextCursor());
+        verify(customerRepository).findPageAfter(creationDate, 2L, Limit.of(3));
+    }
+
+    @Test
+    void getAllCustomers_ShouldRejectInvalidCursorAndPageSize() {
+        assertThrows(InvalidDataException.class, () -> customerService.getAllCustomers("not-a-cursor", null, new CustomerFilterDTO()));
+        assertThrows(InvalidDataException.class, () -> customerService.getAllCustomers(null, 0, new CustomerFilterDTO()));
+        assertThrows(InvalidDataException.class, () -> customerService.getAllCustomers(null, 501, new CustomerFilterDTO()));
+    }
+
+    @Test
+    void getAllCustomers_ShouldRunFilteredQueryWithRequestedSort() {
+        // Arrange
+        CustomerFilterDTO filter = new CustomerFilterDTO();
+        filter.setAgeMin(30);
+        filter.setAgeMax(40);
+        filter.setSort("age,desc");
+
+        CustomerDTO customer1 = new CustomerDTO();
+        customer1.setId(7L);
+        customer1.setAge(40);
+        CustomerDTO extra = new CustomerDTO();
+        extra.setId(5L);
+        extra.setAge(39);
+
+        when(customerRepository.findFiltered(any(), eq(Sort.by(Sort.Direction.DESC, "age", "id")), eq(Limit.of(2))))
+            .thenReturn(Arrays.asList(customer1, extra));
+
+        // Act
+        CustomerPageDTO firstPage = customerService.getAllCustomers(null, 1, filter);
+        customerService.getAllCustomers(firstPage.getNextCursor(), 1, filter);
+
+        // Assert
+        assertEquals(1, firstPage.getContent().size());
+        assertNotNull(firstPage.getNextCursor());
+        verify(customerRepository, times(2)).findFiltered(any(), eq(Sort.by(Sort.Direction.DESC, "age", "id")), eq(Limit.of(2)));
+        verify(customerRepository, never()).findFirstPage(any(Limit.class));
+    }
+
+    @Test
+    void getAllCustomers_ShouldRejectInvalidFilterAndSort() {
+        CustomerFilterDTO emptyAgeRange = new CustomerFilterDTO();
+        emptyAgeRange.setAgeMin(40);
+        emptyAgeRange.setAgeMax(30);
+        CustomerFilterDTO unknownSort = new CustomerFilterDTO();
+        unknownSort.setSort("firstName");
+        CustomerFilterDTO invalidDirection = new CustomerFilterDTO();
+        invalidDirection.setSort("age,up");
+
+        assertThrows(InvalidDataException.class, () -> customerService.getAllCustomers(null, null, emptyAgeRange));
+        assertThrows(InvalidDataException.class, () -> customerService.getAllCustomers(null, null, unknownSort));
+        assertThrows(InvalidDataException.class, () -> customerService.getAllCustomers(null, null, invalidDirection));
+    }
+
+    @Test
+    void getAllCustomers_ShouldRejectCursorFromAnotherSort() {
+        // Arrange
+        CustomerDTO customer1 = new CustomerDTO();
+        customer1.setId(2L);
+        customer1.setCreationDate(LocalDateTime.of(2024, 1, 15, 10, 30));
+        CustomerDTO extra = new CustomerDTO();
+        extra.setId(1L);
+        extra.setCreationDate(LocalDateTime.of(2024, 1, 15, 10, 30));
+        when(customerRepository.findFirstPage(Limit.of(2)))
+            .thenReturn(Arrays.asList(customer1, extra));
+        String cursor = customerService.getAllCustomers(null, 1, new CustomerFilterDTO()).getNextCursor();
+
+        CustomerFilterDTO sortedByAge = new CustomerFilterDTO();
+        sortedByAge.setSort("age");
+
+        // Act & Assert
+        assertThrows(InvalidDataException.class, () -> customerService.getAllCustomers(cursor, 1, sortedByAge));
+    }
+
+    @Test
+    void searchCustomers_ShouldUseDefaultLimit() {
+        // Arrange
+        List<CustomerSearchResultDTO> results = List.of(new CustomerSearchResultDTO(1L, "Juan", "Pérez"));
+        when(customerNameIndex.search("jua", 10)).thenReturn(results);
+
+        // Act
+        List<CustomerSearchResultDTO> result = customerService.searchCustomers("jua", null);
+
+        // Assert
+        assertEquals(results, result);
+    }
+
+    @Test
+    void searchCustomers_ShouldRejectEmptyQueryAndInvalidLimit() {
+        assertThrows(InvalidDataException.class, () -> customerService.searchCustomers(" -- ", null));
+        assertThrows(InvalidDataException.class, () -> customerService.searchCustomers("jua", 0));
+        assertThrows(InvalidDataException.class, () -> customerService.searchCustomers("jua", 51));
+        verifyNoInteractions(customerNameIndex);
     }
 
     @Test
     void getCustomerById_ShouldReturnCustomer() {
         // Arrange
         Long id = 1L;
-        Customer customer = new Customer();
-        customer.setId(id);
-
         CustomerDTO expectedDTO = new CustomerDTO();
         expectedDTO.setId(id);
 
-        when(customerRepository.findById(id)).thenReturn(Optional.of(customer));
-        when(customerMapper.toDTO(customer)).thenReturn(expectedDTO);
+        when(customerRepository.findDTOById(id)).thenReturn(Optional.of(expectedDTO));
 
         // Act
         CustomerDTO result = customerService.getCustomerById(id);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(id, result.getId());
-        verify(customerRepository).findById(id);
+        assertSame(expectedDTO, result);
+        verify(customerRepository, never()).findById(any());
+        verifyNoInteractions(customerMapper);
     }
 
     @Test
     void getCustomerById_ShouldThrowException_WhenCustomerNotFound() {
         // Arrange
-        when(customerRepository.findById(1L)).thenReturn(Optional.empty());
+        when(customerRepository.findDTOById(1L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> customerService.getCustomerById(1L));
-        verify(customerRepository).findById(1L);
+        verify(customerRepository).findDTOById(1L);
+    }
+
+    @Test
+    void getCustomerById_ShouldThrowWithoutStackTrace_WhenCustomerNotFound() {
+        // Arrange
+        when(customerRepository.findDTOById(1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        CustomerNotFoundException exception =
+            assertThrows(CustomerNotFoundException.class, () -> customerService.getCustomerById(1L));
+        assertEquals(0, exception.getStackTrace().length);
+        verify(customerIdFilter, never()).confirm(any());
+    }
+
+    @Test
+    void getCustomerById_ShouldQueryAndConfirm_WhenIdFilterRulesTheIdOut() {
+        // Arrange
+        CustomerDTO expectedDTO = new CustomerDTO();
+        expectedDTO.setId(1L);
+        when(customerIdFilter.mightExist(1L)).thenReturn(false);
+        when(customerRepository.findDTOById(1L)).thenReturn(Optional.of(expectedDTO));
+
+        // Act
+        CustomerDTO result = customerService.getCustomerById(1L);
+
+        // Assert
+        assertSame(expectedDTO, result);
+        verify(customerIdFilter).confirm(1L);
+    }
+
+    @Test
+    void getCustomersByIds_ShouldReturnFoundAndMissingInRequestOrder() {
+        // Arrange
+        CustomerDTO firstDTO = new CustomerDTO();
+        firstDTO.setId(3L);
+        CustomerDTO secondDTO = new CustomerDTO();
+        secondDTO.setId(1L);
+        when(customerRepository.findDTOsByIdIn(List.of(3L, 2L, 1L))).thenReturn(List.of(secondDTO, firstDTO));
+
+        // Act
+        CustomerBatchGetResponseDTO result = customerService.getCustomersByIds(List.of(3L, 2L, 3L, 1L));
+
+        // Assert
+        assertEquals(List.of(3L, 1L), result.getCustomers().stream().map(CustomerDTO::getId).toList());
+        assertEquals(List.of(2L), result.getMissingIds());
+        verify(customerRepository, never()).findById(any());
+    }
+
+    @Test
+    void getCustomersByIds_ShouldQueryInBoundedChunks() {
+        // Arrange
+        List<Long> ids = LongStream.rangeClosed(1, 1200).boxed().toList();
+        when(customerRepository.findDTOsByIdIn(any())).thenReturn(List.of());
+
+        // Act
+        CustomerBatchGetResponseDTO result = customerService.getCustomersByIds(ids);
+
+        // Assert
+        verify(customerRepository).findDTOsByIdIn(ids.subList(0, 500));
+        verify(customerRepository).findDTOsByIdIn(ids.subList(500, 1000));
+        verify(customerRepository).findDTOsByIdIn(ids.subList(1000, 1200));
+        assertEquals(ids, result.getMissingIds());
+    }
+
+    @Test
+    void getCustomersByIds_ShouldRejectEmptyOversizedAndNullIds() {
+        List<Long> tooMany = LongStream.rangeClosed(1, 5001).boxed().toList();
+        assertThrows(InvalidDataException.class, () -> customerService.getCustomersByIds(List.of()));
+        assertThrows(InvalidDataException.class, () -> customerService.getCustomersByIds(tooMany));
+        assertThrows(InvalidDataException.class, () -> customerService.getCustomersByIds(Arrays.asList(1L, null)));
+        verifyNoInteractions(customerRepository);
     }
 
     @Test
     void getCustomerStats_ShouldReturnAllStats() {
         // Arrange
-        when(customerRepository.getAverageAge()).thenReturn(30.0);
-        when(customerRepository.getAgeStandardDeviation()).thenReturn(5.0);
-        when(customerRepository.count()).thenReturn(10L);
+        when(customerStatsAggregator.getStats()).thenReturn(new CustomerStatsDTO(30.0, 5.0, 10L));
 
         // Act
         CustomerStatsDTO result = customerService.getCustomerStats();
@@ -186,9 +526,8 @@ class CustomerServiceTest {
         assertEquals(30.0, result.getAverageAge());
         assertEquals(5.0, result.getAgeStandardDeviation());
         assertEquals(10L, result.getTotalCustomers());
-        verify(customerRepository).getAverageAge();
-        verify(customerRepository).getAgeStandardDeviation();
-        verify(customerRepository).count();
+        verify(customerStatsAggregator).getStats();
+        verifyNoInteractions(customerRepository);
     }
 
     @Test
@@ -217,11 +556,12 @@ class CustomerServiceTest {
         expectedDTO.setEstimatedEventDate(LocalDate.of(2058, 1, 1));
 
         when(customerRepository.findById(id)).thenReturn(Optional.of(existingCustomer));
-        when(customerRepository.save(any(Customer.class))).thenReturn(existingCustomer);
+        givenMapperAppliesUpdates();
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenReturn(existingCustomer);
         when(customerMapper.toDTO(existingCustomer)).thenReturn(expectedDTO);
 
         // Act
-        CustomerDTO result = customerService.updateCustomer(id, updateDTO);
+        CustomerDTO result = customerService.updateCustomer(id, updateDTO, null);
 
         // Assert
         assertNotNull(result);
@@ -229,7 +569,159 @@ class CustomerServiceTest {
         assertEquals("Smith", result.getLastName());
         assertEquals(31, result.getAge());
         assertEquals(LocalDate.of(2058, 1, 1), result.getEstimatedEventDate());
-        verify(customerMessagingService).sendCustomerUpdatedEvent(any(Customer.class));
+        verify(customerMessagingService).sendCustomerUpdatedEvent(any(CustomerSnapshot.class), any(Customer.class));
+    }
+
+    @Test
+    void updateCustomer_WhenNothingChanges_ShouldSkipWriteAndEvents() {
+        // Arrange
+        Customer existingCustomer = new Customer();
+        existingCustomer.setId(1L);
+        existingCustomer.setFirstName("John");
+        existingCustomer.setLastName("Doe");
+        existingCustomer.setAge(30);
+        existingCustomer.setBirthDate(LocalDate.of(1994, 1, 1));
+        existingCustomer.setEstimatedEventDate(LocalDate.of(2059, 1, 1));
+        existingCustomer.setVersion(3L);
+
+        CustomerUpdateDTO updateDTO = new CustomerUpdateDTO();
+        updateDTO.setFirstName(" John ");
+        updateDTO.setBirthDate(LocalDate.of(1994, 1, 1));
+
+        CustomerDTO currentDTO = new CustomerDTO();
+        currentDTO.setId(1L);
+        currentDTO.setVersion(3L);
+
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(existingCustomer));
+        givenMapperAppliesUpdates();
+        when(customerMapper.toDTO(existingCustomer)).thenReturn(currentDTO);
+
+        // Act
+        CustomerDTO result = customerService.updateCustomer(1L, updateDTO, Set.of(3L));
+
+        // Assert
+        assertEquals(3L, result.getVersion());
+        verify(customerRepository, never()).saveAndFlush(any(Customer.class));
+        verifyNoInteractions(customerMessagingService, eventPublisher);
+        assertEquals(1.0, meterRegistry.get("customer.update").tag("result", "noop").counter().count());
+    }
+
+    @Test
+    void updateCustomer_ShouldCountChangedFields() {
+        // Arrange
+        Customer existingCustomer = new Customer();
+        existingCustomer.setId(1L);
+        existingCustomer.setFirstName("John");
+        existingCustomer.setLastName("Doe");
+        existingCustomer.setAge(30);
+        existingCustomer.setBirthDate(LocalDate.of(1994, 1, 1));
+        existingCustomer.setEstimatedEventDate(LocalDate.of(2059, 1, 1));
+
+        CustomerUpdateDTO updateDTO = new CustomerUpdateDTO();
+        updateDTO.setFirstName("John");
+        updateDTO.setLastName("Smith");
+
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(existingCustomer));
+        givenMapperAppliesUpdates();
+        when(customerRepository.saveAndFlush(existingCustomer)).thenReturn(existingCustomer);
+
+        // Act
+        customerService.updateCustomer(1L, updateDTO, null);
+
+        // Assert
+        verify(customerRepository).saveAndFlush(existingCustomer);
+        verify(customerMessagingService).sendCustomerUpdatedEvent(any(CustomerSnapshot.class), eq(existingCustomer));
+        assertEquals(1.0, meterRegistry.get("customer.update").tag("result", "changed").counter().count());
+        assertEquals(1.0, meterRegistry.get("customer.update.fields").tag("field", "lastName").counter().count());
+        assertNull(meterRegistry.find("customer.update.fields").tag("field", "firstName").counter());
+    }
+
+    @Test
+    void updateCustomer_WhenRenamedToAnExistingCustomer_ShouldThrowConflict() {
+        // Arrange
+        Customer existingCustomer = new Customer();
+        existingCustomer.setId(1L);
+        existingCustomer.setFirstName("John");
+        existingCustomer.setLastName("Doe");
+        existingCustomer.setAge(30);
+        existingCustomer.setBirthDate(LocalDate.of(1994, 1, 1));
+        existingCustomer.setEstimatedEventDate(LocalDate.of(2059, 1, 1));
+
+        CustomerUpdateDTO updateDTO = new CustomerUpdateDTO();
+        updateDTO.setLastName("Smith");
+
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(existingCustomer));
+        givenMapperAppliesUpdates();
+        when(customerFingerprintIndex.contains(CustomerFingerprint.of("John", "Smith", LocalDate.of(1994, 1, 1))))
+            .thenReturn(true);
+
+        // Act & Assert
+        assertThrows(DataConflictException.class, () -> customerService.updateCustomer(1L, updateDTO, null));
+        verify(customerRepository, never()).saveAndFlush(any(Customer.class));
+    }
+
+    @Test
+    void updateCustomer_WhenFingerprintIsUnchanged_ShouldNeitherCheckNorWriteIt() {
+        // Arrange
+        Customer existingCustomer = new Customer();
+        existingCustomer.setId(1L);
+        existingCustomer.setFirstName("john");
+        existingCustomer.setLastName("Doe");
+        existingCustomer.setAge(30);
+        existingCustomer.setBirthDate(LocalDate.of(1994, 1, 1));
+        existingCustomer.setEstimatedEventDate(LocalDate.of(2059, 1, 1));
+
+        CustomerUpdateDTO updateDTO = new CustomerUpdateDTO();
+        updateDTO.setFirstName("John");
+
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(existingCustomer));
+        givenMapperAppliesUpdates();
+        when(customerRepository.saveAndFlush(existingCustomer)).thenReturn(existingCustomer);
+
+        // Act
+        customerService.updateCustomer(1L, updateDTO, null);
+
+        // Assert
+        verify(customerFingerprintIndex, never()).contains(any());
+        assertNull(existingCustomer.getFingerprint());
+    }
+
+    @Test
+    void updateCustomer_WhenVersionIsNotExpected_ShouldThrowPreconditionFailed() {
+        // Arrange
+        Customer existingCustomer = new Customer();
+        existingCustomer.setId(1L);
+        existingCustomer.setVersion(3L);
+        CustomerUpdateDTO updateDTO = new CustomerUpdateDTO();
+        updateDTO.setFirstName("Jane");
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(existingCustomer));
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class,
+            () -> customerService.updateCustomer(1L, updateDTO, Set.of(2L)));
+        verify(customerRepository, never()).saveAndFlush(any(Customer.class));
+        verifyNoInteractions(customerMessagingService, eventPublisher);
+    }
+
+    @Test
+    void updateCustomer_WhenModifiedConcurrently_ShouldThrowDataConflict() {
+        // Arrange
+        Customer existingCustomer = new Customer();
+        existingCustomer.setId(1L);
+        existingCustomer.setFirstName("John");
+        existingCustomer.setVersion(3L);
+        CustomerUpdateDTO updateDTO = new CustomerUpdateDTO();
+        updateDTO.setFirstName("Jane");
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(existingCustomer));
+        givenMapperAppliesUpdates();
+        when(customerRepository.saveAndFlush(any(Customer.class)))
+            .thenThrow(new ObjectOptimisticLockingFailureException(Customer.class, 1L));
+
+        // Act & Assert
+        DataConflictException exception = assertThrows(DataConflictException.class,
+            () -> customerService.updateCustomer(1L, updateDTO, Set.of(3L)));
+        assertFalse(exception instanceof PreconditionFailedException);
+        verifyNoInteractions(customerMessagingService, eventPublisher);
     }
 
     @Test
@@ -246,32 +738,40 @@ class CustomerServiceTest {
 
         // Assert
         verify(customerRepository).delete(customer);
+        verify(eventPublisher).publishEvent(any(CustomerChangedEvent.class));
         verify(customerMessagingService).sendCustomerDeletedEvent(id);
     }
 
     @Test
     void getAverageAge_ShouldReturnCorrectAverage() {
         // Arrange
-        when(customerRepository.getAverageAge()).thenReturn(25.5);
+        when(customerStatsAggregator.getAverageAge()).thenReturn(25.5);
 
         // Act
         Double result = customerService.getAverageAge();
 
         // Assert
         assertEquals(25.5, result);
-        verify(customerRepository).getAverageAge();
+        verify(customerStatsAggregator).getAverageAge();
     }
 
     @Test
     void getAgeStandardDeviation_ShouldReturnCorrectDeviation() {
         // Arrange
-        when(customerRepository.getAgeStandardDeviation()).thenReturn(8.2);
+        when(customerStatsAggregator.getAgeStandardDeviation()).thenReturn(8.2);
 
         // Act
         Double result = customerService.getAgeStandardDeviation();
 
         // Assert
         assertEquals(8.2, result);
-        verify(customerRepository).getAgeStandardDeviation();
+        verify(customerStatsAggregator).getAgeStandardDeviation();
+    }
+
+    private void givenMapperAppliesUpdates() {
+        doAnswer(invocation -> {
+            new CustomerMapper().updateEntityFromDTO(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(customerMapper).updateEntityFromDTO(any(Customer.class), any(CustomerUpdateDTO.class));
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,180 @@
+package customer_management_service.service;
+
+import customer_management_service.dto.CustomerStatsDTO;
+import customer_management_service.event.CustomerChangedEvent;
+import customer_management_service.event.CustomerSnapshot;
+import customer_management_service.model.Customer;
+import customer_management_service.repository.AgeAggregates;
+import customer_management_service.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@DisplayName("CustomerStatsAggregator Tests")
+class CustomerStatsAggregatorTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @InjectMocks
+    private CustomerStatsAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        givenDatabaseAggregates(0, 0, 0);
+        aggregator.initialize();
+    }
+
+    @Test
+    @DisplayName("Should return null average and deviation when there are no customers")
+    void shouldReturnNullStatsWhenEmpty() {
+        // When
+        CustomerStatsDTO stats = aggregator.getStats();
+
+        // Then
+        assertNull(stats.getAverageAge());
+        assertNull(stats.getAgeStandardDeviation());
+        assertEquals(0L, stats.getTotalCustomers());
+    }
+
+    @Test
+    @DisplayName("Should change the version only when the statistics change")
+    void shouldChangeVersionOnlyWhenStatisticsChange() {
+        // Given
+        Customer customer = customer(1L, 20);
+        aggregator.onCustomerChanged(CustomerChangedEvent.created(customer));
+        String version = aggregator.getVersion();
+
+        // When an update keeps the age
+        CustomerSnapshot before = CustomerSnapshot.of(customer);
+        customer.setFirstName("Jane");
+        aggregator.onCustomerChanged(CustomerChangedEvent.updated(before, customer));
+
+        // Then
+        assertEquals(version, aggregator.getVersion());
+
+        // When the age changes
+        before = CustomerSnapshot.of(customer);
+        customer.setAge(21);
+        aggregator.onCustomerChanged(CustomerChangedEvent.updated(before, customer));
+
+        // Then
+        assertNotEquals(version, aggregator.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should seed statistics from the database")
+    void shouldSeedStatisticsFromDatabase() {
+        // Given ages 20, 30 and 40
+        givenDatabaseAggregates(3, 90, 400 + 900 + 1600);
+
+        // When
+        aggregator.initialize();
+
+        // Then
+        assertEquals(30.0, aggregator.getAverageAge(), 1e-9);
+        assertEquals(Math.sqrt(200.0 / 3), aggregator.getAgeStandardDeviation(), 1e-9);
+        assertEquals(3L, aggregator.getStats().getTotalCustomers());
+    }
+
+    @Test
+    @DisplayName("Should apply create, update and delete deltas")
+    void shouldApplyChangeDeltas() {
+        // Given
+        Customer first = customer(1L, 20);
+        Customer second = customer(2L, 40);
+
+        // When
+        aggregator.onCustomerChanged(CustomerChangedEvent.created(first));
+        aggregator.onCustomerChanged(CustomerChangedEvent.created(second));
+        CustomerSnapshot before = CustomerSnapshot.of(second);
+        second.setAge(50);
+        aggregator.onCustomerChanged(CustomerChangedEvent.updated(before, second));
+
+        // Then ages are 20 and 50
+        assertEquals(35.0, aggregator.getAverageAge(), 1e-9);
+        assertEquals(15.0, aggregator.getAgeStandardDeviation(), 1e-9);
+
+        // When
+        aggregator.onCustomerChanged(CustomerChangedEvent.deleted(first));
+
+        // Then only age 50 remains
+        assertEquals(50.0, aggregator.getAverageAge(), 1e-9);
+        assertEquals(0.0, aggregator.getAgeStandardDeviation(), 1e-9);
+        assertEquals(1L, aggregator.getStats().getTotalCustomers());
+    }
+
+    @Test
+    @DisplayName("Should correct drift on reconciliation")
+    void shouldCorrectDriftOnReconciliation() {
+        // Given the in-memory state missed a change
+        aggregator.onCustomerChanged(CustomerChangedEvent.created(customer(1L, 20)));
+        givenDatabaseAggregates(2, 60, 400 + 1600);
+
+        // When
+        aggregator.reconcile();
+
+        // Then
+        assertEquals(2L, aggregator.getStats().getTotalCustomers());
+        assertEquals(30.0, aggregator.getAverageAge(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should reload statistics only when a refresh was requested")
+    void shouldReloadOnlyWhenRefreshRequested() {
+        // Given another node created a customer
+        givenDatabaseAggregates(1, 40, 1600);
+
+        // When
+        aggregator.refreshIfRequested();
+
+        // Then
+        assertEquals(0L, aggregator.getStats().getTotalCustomers());
+
+        // When
+        aggregator.requestRefresh();
+        aggregator.refreshIfRequested();
+
+        // Then
+        assertEquals(1L, aggregator.getStats().getTotalCustomers());
+        assertEquals(40.0, aggregator.getAverageAge(), 1e-9);
+    }
+
+    private void givenDatabaseAggregates(long total, long ageSum, long ageSquaresSum) {
+        when(customerRepository.getAgeAggregates()).thenReturn(new AgeAggregates() {
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+
+            @Override
+            public Long getAgeSum() {
+                return ageSum;
+            }
+
+            @Override
+            public Long getAgeSquaresSum() {
+                return ageSquaresSum;
+            }
+        });
+    }
+
+    private Customer customer(Long id, int age) {
+        Customer customer = new Customer();
+        customer.setId(id);
+        customer.setFirstName("John");
+        customer.setLastName("Doe");
+        customer.setAge(age);
+        customer.setBirthDate(LocalDate.now().minusYears(age));
+        return customer;
+    }
+}
@@ -0,0 +1,138 @@
+package customer_management_service.service;
+
+import customer_management_service.config.CacheConfig;
+import customer_management_service.dto.CustomerDTO;
+import customer_management_service.repository.CustomerRepository;
+import customer_management_service.repository.CustomerRevision;
+import customer_management_service.service.CustomerVersionLookup.CustomerVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CustomerVersionLookup Tests")
+class CustomerVersionLookupTest {
+
+    private static final LocalDateTime UPDATE_DATE = LocalDateTime.of(2024, 1, 15, 14, 45);
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private CustomerIdFilter customerIdFilter;
+
+    @Mock
+    private CustomerStatsAggregator customerStatsAggregator;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private SimpleMeterRegistry meterRegistry;
+    private CustomerVersionLookup lookup;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.CUSTOMERS_CACHE);
+        meterRegistry = new SimpleMeterRegistry();
+        when(customerIdFilter.mightExist(anyLong())).thenReturn(true);
+        lookup = new CustomerVersionLookup(customerRepository, customerIdFilter, cacheManager,
+            customerStatsAggregator, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should take the version from the cached customer without querying")
+    void shouldUseCachedCustomer() {
+        // Given
+        CustomerDTO cached = new CustomerDTO();
+        cached.setId(1L);
+        cached.setUpdateDate(UPDATE_DATE);
+        cached.setVersion(3L);
+        cacheManager.getCache(CacheConfig.CUSTOMERS_CACHE).put(1L, cached);
+
+        // When
+        Optional<CustomerVersion> version = lookup.getCustomerVersion(1L);
+
+        // Then
+        assertEquals(Optional.of(new CustomerVersion(1L, 3L, UPDATE_DATE)), version);
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    @DisplayName("Should read only the version columns when the customer is not cached")
+    void shouldQueryRevisionOnCacheMiss() {
+        // Given
+        CustomerRevision revision = mock(CustomerRevision.class);
+        when(revision.getVersion()).thenReturn(3L);
+        when(revision.getUpdateDate()).thenReturn(UPDATE_DATE);
+        when(customerRepository.findRevisionById(1L)).thenReturn(Optional.of(revision));
+
+        // When
+        Optional<CustomerVersion> version = lookup.getCustomerVersion(1L);
+
+        // Then
+        assertEquals(Optional.of(new CustomerVersion(1L, 3L, UPDATE_DATE)), version);
+        assertEquals("1-3", version.get().eTag());
+        verify(customerRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should return no version for a missing customer")
+    void shouldReturnEmptyForMissingCustomer() {
+        // Given
+        when(customerRepository.findRevisionById(1L)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertTrue(lookup.getCustomerVersion(1L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not query for an ID the ID filter rules out")
+    void shouldSkipQueryForFilteredId() {
+        // Given
+        when(customerIdFilter.mightExist(1L)).thenReturn(false);
+
+        // When / Then
+        assertTrue(lookup.getCustomerVersion(1L).isEmpty());
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    @DisplayName("Should accept any version when If-Match is absent or a wildcard")
+    void shouldAcceptAnyVersionWithoutIfMatch() {
+        assertNull(CustomerVersion.acceptedVersions(1L, null));
+        assertNull(CustomerVersion.acceptedVersions(1L, " * "));
+    }
+
+    @Test
+    @DisplayName("Should accept only the versions of strong tags of the same customer")
+    void shouldParseIfMatchTags() {
+        assertEquals(Set.of(3L, 4L), CustomerVersion.acceptedVersions(1L, "\"1-3\", \"1-4\""));
+        assertEquals(Set.of(), CustomerVersion.acceptedVersions(1L, "W/\"1-3\""));
+        assertEquals(Set.of(), CustomerVersion.acceptedVersions(1L, "\"2-3\""));
+        assertEquals(Set.of(), CustomerVersion.acceptedVersions(1L, "\"1-x\""));
+    }
+
+    @Test
+    @DisplayName("Should count GETs by whether they were answered with 304")
+    void shouldCountConditionalGets() {
+        // When
+        lookup.recordGet(CustomerVersionLookup.CUSTOMER_RESOURCE, true);
+        lookup.recordGet(CustomerVersionLookup.CUSTOMER_RESOURCE, true);
+        lookup.recordGet(CustomerVersionLookup.CUSTOMER_RESOURCE, false);
+
+        // Then
+        assertEquals(2.0, meterRegistry.get("customer.http.conditional")
+            .tag("resource", "customer").tag("result", "not_modified").counter().count());
+        assertEquals(1.0, meterRegistry.get("customer.http.conditional")
+            .tag("resource", "customer").tag("result", "ok").counter().count());
+    }
+}
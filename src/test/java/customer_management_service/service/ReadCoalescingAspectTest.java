@@ -0,0 +1,151 @@
+package customer_management_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReadCoalescingAspect Tests")
+class ReadCoalescingAspectTest {
+
+    private static final int CALLERS = 8;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SlowReads target;
+    private SlowReads reads;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(CALLERS);
+        meterRegistry = new SimpleMeterRegistry();
+        target = new SlowReads();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ReadCoalescingAspect(meterRegistry));
+        reads = factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should run concurrent identical calls once and share the result")
+    void shouldCollapseIdenticalCalls() throws Exception {
+        // When
+        List<CompletableFuture<String>> calls = startCalls(() -> reads.load(1L));
+        target.release.countDown();
+
+        // Then
+        for (CompletableFuture<String> call : calls) {
+            assertEquals("customer-1", call.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, target.executions.get());
+        assertEquals(1.0, count("executed"));
+        assertEquals(CALLERS - 1, count("collapsed"));
+    }
+
+    @Test
+    @DisplayName("Should share the exception of the execution in flight")
+    void shouldShareException() {
+        // Given
+        target.failure = new IllegalStateException("boom");
+
+        // When
+        List<CompletableFuture<String>> calls = startCalls(() -> reads.load(1L));
+        target.release.countDown();
+
+        // Then
+        for (CompletableFuture<String> call : calls) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> call.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+        assertEquals(1, target.executions.get());
+    }
+
+    @Test
+    @DisplayName("Should execute calls with different arguments or after completion separately")
+    void shouldNotCollapseDifferentOrLaterCalls() {
+        // Given
+        target.release.countDown();
+
+        // When
+        reads.load(1L);
+        reads.load(1L);
+        reads.load(2L);
+
+        // Then
+        assertEquals(3, target.executions.get());
+        assertEquals(0.0, count("collapsed"));
+    }
+
+    private List<CompletableFuture<String>> startCalls(Supplier<String> call) {
+        List<CompletableFuture<String>> calls = new ArrayList<>();
+        calls.add(CompletableFuture.supplyAsync(call, executor));
+        // Let the first call take the lead before the others arrive
+        awaitExecutions(1);
+        for (int i = 1; i < CALLERS; i++) {
+            calls.add(CompletableFuture.supplyAsync(call, executor));
+        }
+        awaitCollapsed(CALLERS - 1);
+        return calls;
+    }
+
+    private void awaitExecutions(int executions) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (target.executions.get() < executions && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private void awaitCollapsed(int collapsed) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count("collapsed") < collapsed && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private double count(String result) {
+        Counter counter = meterRegistry.find("customer.reads.coalesced").tag("operation", "load").tag("result", result).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    static class SlowReads {
+
+        final AtomicInteger executions = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile RuntimeException failure;
+
+        @Coalesced("load")
+        public String load(Long id) {
+            executions.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return "customer-" + id;
+        }
+    }
+}
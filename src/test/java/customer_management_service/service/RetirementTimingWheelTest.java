@@ -0,0 +1,98 @@
+package customer_management_service.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RetirementTimingWheel Tests")
+class RetirementTimingWheelTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+
+    private RetirementTimingWheel wheel;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new RetirementTimingWheel(10, START);
+    }
+
+    @Test
+    @DisplayName("Should fire entries on their day, in day order")
+    void shouldFireEntriesOnTheirDay() {
+        // Given
+        wheel.schedule(entry(1L, START.plusDays(2)));
+        wheel.schedule(entry(2L, START));
+
+        // Then
+        assertEquals(List.of(2L), ids(wheel.advance(START)));
+        assertTrue(wheel.advance(START.plusDays(1)).isEmpty());
+        assertEquals(List.of(1L), ids(wheel.advance(START.plusDays(2))));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should reject entries beyond the window and accept them once it slides")
+    void shouldRejectEntriesBeyondWindow() {
+        // Given
+        RetirementTimingWheel.Entry late = entry(1L, START.plusDays(10));
+
+        // Then
+        assertFalse(wheel.schedule(late));
+        wheel.advance(START);
+        assertTrue(wheel.schedule(late));
+        assertEquals(List.of(1L), ids(wheel.advance(START.plusDays(10))));
+    }
+
+    @Test
+    @DisplayName("Should replace the previous entry of a customer and honour cancellations")
+    void shouldReplaceAndCancelEntries() {
+        // Given
+        wheel.schedule(entry(1L, START.plusDays(1)));
+        wheel.schedule(entry(1L, START.plusDays(3)));
+        wheel.schedule(entry(2L, START.plusDays(3)));
+        wheel.cancel(2L);
+
+        // Then
+        assertFalse(wheel.scheduleIfAbsent(entry(1L, START.plusDays(2))));
+        assertTrue(wheel.advance(START.plusDays(2)).isEmpty());
+        assertEquals(List.of(1L), ids(wheel.advance(START.plusDays(3))));
+    }
+
+    @Test
+    @DisplayName("Should fire overdue entries on the next advance")
+    void shouldFireOverdueEntries() {
+        // Given
+        wheel.advance(START.plusDays(4));
+
+        // When
+        wheel.schedule(entry(1L, START));
+
+        // Then
+        assertEquals(List.of(1L), ids(wheel.advance(START.plusDays(4))));
+    }
+
+    @Test
+    @DisplayName("Should fire every skipped day when advancing past the window")
+    void shouldCatchUpAfterLongGap() {
+        // Given
+        wheel.schedule(entry(1L, START.plusDays(3)));
+        wheel.schedule(entry(2L, START.plusDays(9)));
+
+        // Then
+        assertEquals(List.of(1L, 2L), ids(wheel.advance(START.plusDays(25))));
+        assertEquals(START.plusDays(36), wheel.end());
+    }
+
+    private RetirementTimingWheel.Entry entry(Long id, LocalDate fireDate) {
+        return new RetirementTimingWheel.Entry(id, fireDate.plusDays(30), fireDate);
+    }
+
+    private List<Long> ids(List<RetirementTimingWheel.Entry> entries) {
+        return entries.stream().map(RetirementTimingWheel.Entry::customerId).toList();
+    }
+}
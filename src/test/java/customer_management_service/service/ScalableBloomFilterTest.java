@@ -0,0 +1,73 @@
+package customer_management_service.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ScalableBloomFilter Tests")
+class ScalableBloomFilterTest {
+
+    @Test
+    @DisplayName("Should never report an added key as absent")
+    void shouldHaveNoFalseNegatives() {
+        // Given
+        ScalableBloomFilter filter = new ScalableBloomFilter(1000, 0.01);
+
+        // When
+        for (long id = 1; id <= 1000; id++) {
+            filter.put(id);
+        }
+
+        // Then
+        for (long id = 1; id <= 1000; id++) {
+            assertTrue(filter.mightContain(id), "ID " + id);
+        }
+        assertEquals(1, filter.sliceCount());
+    }
+
+    @Test
+    @DisplayName("Should grow past its initial capacity and keep the false positive rate")
+    void shouldScaleAndKeepFalsePositiveRate() {
+        // Given
+        ScalableBloomFilter filter = new ScalableBloomFilter(1000, 0.01);
+
+        // When
+        for (long id = 1; id <= 20_000; id++) {
+            filter.put(id);
+        }
+
+        // Then
+        for (long id = 1; id <= 20_000; id++) {
+            assertTrue(filter.mightContain(id), "ID " + id);
+        }
+        int falsePositives = 0;
+        for (long id = 1_000_000; id < 1_100_000; id++) {
+            if (filter.mightContain(id)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(filter.sliceCount() > 1);
+        assertTrue(falsePositives < 1500, "False positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Should report keys never added as absent")
+    void shouldRuleOutMissingKeys() {
+        // Given
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+        filter.put(42L);
+
+        // Then
+        assertFalse(filter.mightContain(7L));
+        assertEquals(1, filter.size());
+        assertTrue(filter.bitSetBytes() > 0);
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid false positive rate")
+    void shouldRejectInvalidRate() {
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(100, 1));
+    }
+}